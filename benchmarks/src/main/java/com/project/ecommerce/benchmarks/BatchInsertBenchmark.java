@@ -0,0 +1,51 @@
+package com.project.ecommerce.benchmarks;
+
+import com.project.ecommerce.orders.dto.BatchOrderResponseDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.orders.services.OrderBatchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk order creation with and without Hibernate JDBC batching.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    private static final int ORDERS_PER_CALL = 500;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderBatchService orderBatchService;
+    private List<OrderRequestDTO> orders;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        orderBatchService = context.getBean(OrderBatchService.class);
+        OrderRequestDTO request = BenchmarkApplication.orderRequest(BenchmarkApplication.customer(context),
+                BenchmarkApplication.products(context, 3, 10.0));
+        orders = Collections.nCopies(ORDERS_PER_CALL, request);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchOrderResponseDTO createOrders() {
+        return orderBatchService.createOrders(orders);
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.ecommerce.benchmarks;
+
+import com.project.ecommerce.EcommerceApplication;
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.products.entities.Product;
+import com.project.ecommerce.products.repository.ProductRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without a web server on an in-memory H2 database in MySQL mode and creates test data.
+ */
+final class BenchmarkApplication {
+
+    private static final String[] H2_ARGS = {
+            "--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--logging.level.root=WARN"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param extraArgs additional {@code --name=value} properties, e.g. a Hibernate batch size
+     */
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] args = Stream.concat(Stream.of(H2_ARGS), Stream.of(extraArgs)).toArray(String[]::new);
+        return new SpringApplicationBuilder(EcommerceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args);
+    }
+
+    static Customer customer(ConfigurableApplicationContext context) {
+        return context.getBean(CustomerRepository.class).save(Customer.builder().name("Benchmark").build());
+    }
+
+    /**
+     * Creates products with enough stock that a benchmark never runs out.
+     */
+    static List<Product> products(ConfigurableApplicationContext context, int count, double price) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder().name("Product " + i).price(price).availableQuantity(Integer.MAX_VALUE / 2).build());
+        }
+        return context.getBean(ProductRepository.class).saveAll(products);
+    }
+
+    static OrderRequestDTO orderRequest(Customer customer, List<Product> products) {
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (Product product : products) {
+            OrderItemRequestDTO item = new OrderItemRequestDTO();
+            item.setProductId(product.getId());
+            item.setQuantity(1);
+            items.add(item);
+        }
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setCustomerId(customer.getId());
+        request.setOrderItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.ecommerce.benchmarks;
+
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.services.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderService#createOrder} end to end: catalog lookup, stock reservation, insert and mapping.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateOrderBenchmark {
+
+    @Param({"1", "10"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+        request = BenchmarkApplication.orderRequest(BenchmarkApplication.customer(context),
+                BenchmarkApplication.products(context, itemCount, 10.0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        return orderService.createOrder(request);
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.ecommerce.benchmarks;
+
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.products.entities.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached order entities for benchmarks that do not need a database.
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static Order order(long id, int itemCount) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+        order.setCustomer(Customer.builder().name("Customer " + id).build());
+
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        double billingAmount = 0;
+        for (int i = 0; i < itemCount; i++) {
+            Product product = Product.builder().id((long) i).name("Product " + i).price(10.0 + i).build();
+            OrderItem item = OrderItem.builder().product(product).order(order).quantity(2).net_price(2 * product.getPrice()).build();
+            items.add(item);
+            billingAmount += item.getNet_price();
+        }
+        order.setOrderItems(items);
+        order.setBillingAmount(billingAmount);
+        return order;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.ecommerce.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.mapper.OrderMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of order lists, as written by the list and stream endpoints.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderJsonBenchmark {
+
+    @Param({"50", "1000"})
+    public int orderCount;
+
+    private ObjectMapper objectMapper;
+    private List<OrderResponseDTO> orders;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+        orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(orderMapper.toDto(OrderFixtures.order(i, 3)));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+}
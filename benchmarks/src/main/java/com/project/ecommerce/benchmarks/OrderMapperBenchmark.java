@@ -0,0 +1,45 @@
+package com.project.ecommerce.benchmarks;
+
+import com.project.ecommerce.orders.dto.OrderItemResponseDTO;
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.mapper.OrderMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping of a single order with a growing number of items.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int itemCount;
+
+    private OrderMapper orderMapper;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        orderMapper = Mappers.getMapper(OrderMapper.class);
+        order = OrderFixtures.order(1L, itemCount);
+    }
+
+    @Benchmark
+    public OrderResponseDTO toDto() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public List<OrderItemResponseDTO> toOrderItemResponseList() {
+        return orderMapper.toOrderItemResponseList(order.getOrderItems());
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.ecommerce.benchmarks;
+
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.payments.dto.PaymentRequestDTO;
+import com.project.ecommerce.payments.dto.PaymentStatusDTO;
+import com.project.ecommerce.payments.queue.PaymentJobProcessor;
+import com.project.ecommerce.payments.queue.PaymentWorkerPool;
+import com.project.ecommerce.payments.service.PaymentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card payments against orders that already carry a number of installments. The background workers are stopped so
+ * each invocation accepts a payment and applies it on the benchmark thread.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessPaymentBenchmark {
+
+    private static final int ORDER_COUNT = 100;
+
+    @Param({"0", "100"})
+    public int earlierInstallments;
+
+    private ConfigurableApplicationContext context;
+    private PaymentService paymentService;
+    private PaymentJobProcessor paymentJobProcessor;
+    private long[] orderIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        context.getBean(PaymentWorkerPool.class).stop();
+        paymentService = context.getBean(PaymentService.class);
+        paymentJobProcessor = context.getBean(PaymentJobProcessor.class);
+
+        // Orders are priced so that small installments never pay them off
+        OrderService orderService = context.getBean(OrderService.class);
+        var request = BenchmarkApplication.orderRequest(BenchmarkApplication.customer(context),
+                BenchmarkApplication.products(context, 1, 1_000_000_000.0));
+        orderIds = new long[ORDER_COUNT];
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderIds[i] = orderService.createOrder(request).getOrderId();
+            for (int j = 0; j < earlierInstallments; j++) {
+                pay(orderIds[i]);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PaymentStatusDTO processPayment() {
+        long orderId = orderIds[next++ % ORDER_COUNT];
+        return pay(orderId);
+    }
+
+    private PaymentStatusDTO pay(long orderId) {
+        PaymentRequestDTO request = new PaymentRequestDTO();
+        request.setOrderId(orderId);
+        request.setAmount(1.0);
+        request.setPaymentType("CARD");
+        PaymentStatusDTO accepted = paymentService.processPayment(request);
+        paymentJobProcessor.processOrder(orderId);
+        return accepted;
+    }
+}
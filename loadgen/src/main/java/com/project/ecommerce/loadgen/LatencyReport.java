@@ -0,0 +1,70 @@
+package com.project.ecommerce.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation, recorded in microseconds.
+ */
+final class LatencyReport {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        histograms.get(operation).recordValue(Math.max(1, latencyNanos / 1_000));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    void print(PrintStream out, Duration measured) {
+        out.printf("%-26s %9s %7s %10s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            printRow(out, operation.label(), histogram, operationErrors, measured);
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        printRow(out, "total", total, totalErrors, measured);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errors, Duration measured) {
+        out.printf("%-26s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                label,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / (measured.toMillis() / 1000.0),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
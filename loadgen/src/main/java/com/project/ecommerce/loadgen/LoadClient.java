@@ -0,0 +1,111 @@
+package com.project.ecommerce.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends one request per operation and keeps track of the orders it created, so reads, payments and cancels hit
+ * existing orders.
+ */
+final class LoadClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final URI baseUri;
+    private final List<Long> customerIds;
+    private final List<Long> productIds;
+
+    // All known orders for random reads, guarded by itself so a reader never sees a size ahead of its elements,
+    // and the orders that have not been cancelled yet
+    private final List<Long> orders = new ArrayList<>();
+    private final Queue<Long> cancellable = new ConcurrentLinkedQueue<>();
+
+    LoadClient(URI baseUri, List<Long> customerIds, List<Long> productIds) {
+        this.baseUri = baseUri;
+        this.customerIds = customerIds;
+        this.productIds = productIds;
+    }
+
+    void addOrder(Long orderId) {
+        synchronized (orders) {
+            orders.add(orderId);
+        }
+        cancellable.add(orderId);
+    }
+
+    /**
+     * @return the HTTP status of the response
+     */
+    int execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE -> createOrder();
+            case GET -> send(HttpRequest.newBuilder(baseUri.resolve("/api/orders/" + randomOrder())).GET());
+            case LIST -> send(HttpRequest.newBuilder(baseUri.resolve("/api/orders?limit=50")).GET());
+            case PAY -> send(json(HttpRequest.newBuilder(baseUri.resolve("/api/payments")),
+                    Map.of("orderId", randomOrder(), "amount", 10.0, "paymentType", "CARD")));
+            case CANCEL -> cancelOrder();
+        };
+    }
+
+    private int createOrder() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> items = random.ints(1 + random.nextInt(3), 0, productIds.size())
+                .distinct()
+                .mapToObj(i -> Map.<String, Object>of("productId", productIds.get(i), "quantity", 1 + random.nextInt(3)))
+                .toList();
+        Map<String, Object> order = Map.of(
+                "customerId", customerIds.get(random.nextInt(customerIds.size())),
+                "orderItems", items);
+
+        HttpResponse<byte[]> response = httpClient.send(
+                json(HttpRequest.newBuilder(baseUri.resolve("/api/orders")), order).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 == 2) {
+            addOrder(objectMapper.readTree(response.body()).get("orderId").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private int cancelOrder() throws IOException, InterruptedException {
+        Long orderId = cancellable.poll();
+        if (orderId == null) {
+            // Every known order was cancelled already, create one instead of sending a request that must fail
+            return createOrder();
+        }
+        return send(HttpRequest.newBuilder(baseUri.resolve("/api/orders/" + orderId))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private Long randomOrder() {
+        synchronized (orders) {
+            return orders.get(ThreadLocalRandom.current().nextInt(orders.size()));
+        }
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder builder, Object body) throws IOException {
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
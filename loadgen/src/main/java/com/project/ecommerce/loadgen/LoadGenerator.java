@@ -0,0 +1,162 @@
+package com.project.ecommerce.loadgen;
+
+import com.project.ecommerce.EcommerceApplication;
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.products.entities.Product;
+import com.project.ecommerce.products.repository.ProductRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Boots the application on an in-memory H2 database in MySQL mode and replays a weighted mix of order and payment
+ * requests against it over HTTP, then prints latency percentiles per endpoint.
+ * <p>
+ * In the open model requests are started at a fixed arrival rate, independent of how fast earlier ones complete,
+ * and each latency is measured from the time the request was due to be sent. A stalled server therefore shows up
+ * as queueing delay in the percentiles instead of silently lowering the offered load (coordinated omission). The
+ * closed model runs a fixed number of clients that send their next request as soon as the previous one completes,
+ * which is the setup for comparing virtual and platform request threads at a given concurrency.
+ * <p>
+ * Example: {@code java -jar loadgen.jar --mode=open --rate=500 --duration=60 --mix=create:20,get:50,list:10,pay:15,cancel:5}
+ */
+public class LoadGenerator {
+
+    private static final int CUSTOMERS = 100;
+    private static final int PRODUCTS = 50;
+
+    private final LoadOptions options;
+    private final OperationMix mix;
+    private final LatencyReport report = new LatencyReport();
+    private LoadClient client;
+
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.mix = new OperationMix(options.mix());
+    }
+
+    public static void main(String[] args) {
+        LoadOptions options = LoadOptions.parse(args);
+        try (ConfigurableApplicationContext context = startApplication(options)) {
+            new LoadGenerator(options).run(context);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadOptions options) {
+        return new SpringApplicationBuilder(EcommerceApplication.class)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:loadgen;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + options.poolSize(),
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.threads.virtual.enabled=" + options.virtualThreads(),
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+    }
+
+    private void run(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        seed(context, URI.create("http://localhost:" + port));
+
+        System.out.printf("%s model, %s, server on %s threads, connection pool %d, warm-up %ds, measuring %ds%n",
+                options.openModel() ? "Open" : "Closed",
+                options.openModel() ? options.rate() + " requests/s" : options.clients() + " clients",
+                options.virtualThreads() ? "virtual" : "platform",
+                options.poolSize(), options.warmup().toSeconds(), options.duration().toSeconds());
+
+        runPhase(options.warmup());
+        report.reset();
+        runPhase(options.duration());
+        report.print(System.out, options.duration());
+    }
+
+    private void seed(ConfigurableApplicationContext context, URI baseUri) {
+        List<Long> customerIds = context.getBean(CustomerRepository.class)
+                .saveAll(IntStream.range(0, CUSTOMERS).mapToObj(i -> Customer.builder().name("Customer " + i).build()).toList())
+                .stream().map(Customer::getId).toList();
+        List<Long> productIds = context.getBean(ProductRepository.class)
+                .saveAll(IntStream.range(0, PRODUCTS).mapToObj(i -> Product.builder().name("Product " + i)
+                        .price(10.0 + i).availableQuantity(Integer.MAX_VALUE / 2).build()).toList())
+                .stream().map(Product::getId).toList();
+        client = new LoadClient(baseUri, customerIds, productIds);
+
+        OrderService orderService = context.getBean(OrderService.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < options.seedOrders(); i++) {
+            OrderItemRequestDTO item = new OrderItemRequestDTO();
+            item.setProductId(productIds.get(random.nextInt(productIds.size())));
+            item.setQuantity(1);
+            OrderRequestDTO order = new OrderRequestDTO();
+            order.setCustomerId(customerIds.get(random.nextInt(customerIds.size())));
+            order.setOrderItems(new ArrayList<>(List.of(item)));
+            client.addOrder(orderService.createOrder(order).getOrderId());
+        }
+    }
+
+    private void runPhase(Duration phase) {
+        if (options.openModel()) {
+            runOpen(phase);
+        } else {
+            runClosed(phase);
+        }
+    }
+
+    private void runOpen(Duration phase) {
+        long intervalNanos = 1_000_000_000L / options.rate();
+        long start = System.nanoTime();
+        long end = start + phase.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intendedStart = start; intendedStart < end; intendedStart += intervalNanos) {
+                long delay = intendedStart - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                // Latency counts from the scheduled start, so requests delayed behind slow ones are charged for it
+                long scheduledStart = intendedStart;
+                Operation operation = mix.next();
+                executor.execute(() -> send(operation, scheduledStart));
+            }
+        }
+    }
+
+    private void runClosed(Duration phase) {
+        long end = System.nanoTime() + phase.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients(); i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        send(mix.next(), System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    private void send(Operation operation, long startNanos) {
+        boolean success;
+        try {
+            success = client.execute(operation) / 100 == 2;
+        } catch (Exception ex) {
+            success = false;
+        }
+        report.record(operation, System.nanoTime() - startNanos, success);
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.ecommerce.loadgen;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}.
+ *
+ * @param mode           {@code open} sends at a fixed arrival rate, {@code closed} runs a fixed number of clients back to back
+ * @param rate           requests per second in open mode
+ * @param clients        concurrent clients in closed mode
+ * @param warmup         time to run before measuring
+ * @param duration       measured time
+ * @param virtualThreads whether the application handles requests on virtual threads
+ * @param poolSize       size of the application's connection pool
+ * @param seedOrders     orders created before the run, so reads, payments and cancels have targets from the start
+ * @param mix            relative weight of each operation
+ */
+record LoadOptions(String mode, int rate, int clients, Duration warmup, Duration duration, boolean virtualThreads,
+                   int poolSize, int seedOrders, Map<Operation, Integer> mix) {
+
+    private static final String DEFAULT_MIX = "create:20,get:50,list:10,pay:15,cancel:5";
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        String mode = values.getOrDefault("mode", "open");
+        if (!mode.equals("open") && !mode.equals("closed")) {
+            throw new IllegalArgumentException("Mode must be open or closed: " + mode);
+        }
+        int seedOrders = Integer.parseInt(values.getOrDefault("seed-orders", "1000"));
+        if (seedOrders < 1) {
+            throw new IllegalArgumentException("At least one seed order is needed as a target for reads: " + seedOrders);
+        }
+        return new LoadOptions(
+                mode,
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("clients", "2000")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                !values.getOrDefault("threads", "virtual").equals("platform"),
+                Integer.parseInt(values.getOrDefault("pool-size", "20")),
+                seedOrders,
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)));
+    }
+
+    boolean openModel() {
+        return mode.equals("open");
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.ecommerce.loadgen;
+
+/**
+ * Requests the load generator can replay, with the label used in the report.
+ */
+enum Operation {
+    CREATE("POST /api/orders"),
+    GET("GET /api/orders/{id}"),
+    LIST("GET /api/orders"),
+    PAY("POST /api/payments"),
+    CANCEL("PATCH /api/orders/{id}");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.ecommerce.loadgen;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks operations at random according to their weights.
+ */
+final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    OperationMix(Map<Operation, Integer> weights) {
+        operations = weights.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The operation mix needs a positive total weight");
+        }
+    }
+
+    Operation next() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
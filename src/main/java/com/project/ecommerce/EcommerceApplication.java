@@ -1,13 +1,19 @@
 package com.project.ecommerce;
 
+import com.project.ecommerce.products.importer.ProductImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class EcommerceApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(EcommerceApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(EcommerceApplication.class, args);
+        // A command line import is done once startup returns, close the application with the import's exit code
+        if (context.getBeanProvider(ProductImportRunner.class).getIfAvailable() != null) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
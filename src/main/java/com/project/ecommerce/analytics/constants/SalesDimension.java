@@ -0,0 +1,24 @@
+package com.project.ecommerce.analytics.constants;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What a sales rollup row is about, with the bucket widths kept for it. Product and customer totals over long
+ * ranges are read from whole months plus the days at either end.
+ */
+public enum SalesDimension {
+    TOTAL(EnumSet.of(TimeBucket.HOUR, TimeBucket.DAY, TimeBucket.MONTH)),
+    PRODUCT(EnumSet.of(TimeBucket.DAY, TimeBucket.MONTH)),
+    CUSTOMER(EnumSet.of(TimeBucket.DAY, TimeBucket.MONTH));
+
+    private final Set<TimeBucket> granularities;
+
+    SalesDimension(Set<TimeBucket> granularities) {
+        this.granularities = granularities;
+    }
+
+    public Set<TimeBucket> granularities() {
+        return granularities;
+    }
+}
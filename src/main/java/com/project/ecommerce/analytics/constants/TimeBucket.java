@@ -0,0 +1,29 @@
+package com.project.ecommerce.analytics.constants;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Width of a sales rollup bucket. A bucket is identified by the time it starts.
+ */
+public enum TimeBucket {
+    HOUR,
+    DAY,
+    MONTH;
+
+    public LocalDateTime start(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.toLocalDate().atStartOfDay();
+            case MONTH -> time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        };
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return switch (this) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
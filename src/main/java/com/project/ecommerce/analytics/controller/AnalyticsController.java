@@ -0,0 +1,92 @@
+package com.project.ecommerce.analytics.controller;
+
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import com.project.ecommerce.analytics.dto.SalesBackfillStatusDTO;
+import com.project.ecommerce.analytics.dto.SalesBucketDTO;
+import com.project.ecommerce.analytics.dto.SalesTotalDTO;
+import com.project.ecommerce.analytics.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for sales analytics. Every query is answered from the sales rollups,
+ * never from the orders table. Date ranges are inclusive and default to the last 30 days.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Get revenue over time. Buckets without sales are left out.
+     *
+     * @param granularity bucket width, HOUR, DAY or MONTH
+     * @param from first day of the range
+     * @param to last day of the range
+     * @return one entry per bucket with HTTP 200 status
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<List<SalesBucketDTO>> getRevenue(@RequestParam(defaultValue = "DAY") TimeBucket granularity,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getRevenue(granularity, from, to));
+    }
+
+    /**
+     * Get the products with the highest revenue.
+     *
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param limit number of products to return, at most 100
+     * @return products ordered by revenue with HTTP 200 status
+     */
+    @GetMapping("/products")
+    public ResponseEntity<List<SalesTotalDTO>> getTopProducts(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.getTopProducts(from, to, limit));
+    }
+
+    /**
+     * Get the customers with the highest revenue.
+     *
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param limit number of customers to return, at most 100
+     * @return customers ordered by revenue with HTTP 200 status
+     */
+    @GetMapping("/customers")
+    public ResponseEntity<List<SalesTotalDTO>> getTopCustomers(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.getTopCustomers(from, to, limit));
+    }
+
+    /**
+     * Rebuild the sales rollups from the orders table in the background.
+     *
+     * @return the backfill's status with HTTP 202 status
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<SalesBackfillStatusDTO> startBackfill() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(analyticsService.startBackfill());
+    }
+
+    /**
+     * Get the status of the last rollup backfill.
+     *
+     * @return the backfill's status with HTTP 200 status
+     */
+    @GetMapping("/backfill")
+    public ResponseEntity<SalesBackfillStatusDTO> getBackfillStatus() {
+        return ResponseEntity.ok(analyticsService.getBackfillStatus());
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.ecommerce.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSalesRow {
+    private Long orderId;
+    private Long productId;
+    private Integer quantity;
+    private Double netPrice;
+}
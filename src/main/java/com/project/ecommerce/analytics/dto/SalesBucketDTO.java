@@ -0,0 +1,17 @@
+package com.project.ecommerce.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBucketDTO {
+    private LocalDateTime bucketStart;
+    private Long orderCount;
+    private Long quantity;
+    private Double revenue;
+}
@@ -0,0 +1,21 @@
+package com.project.ecommerce.analytics.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SalesTotalDTO {
+    private Long id;
+    private String name;
+    private Long orderCount;
+    private Long quantity;
+    private Double revenue;
+
+    public SalesTotalDTO(Long id, Long orderCount, Long quantity, Double revenue) {
+        this.id = id;
+        this.orderCount = orderCount;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+}
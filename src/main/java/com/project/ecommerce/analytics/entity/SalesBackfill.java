@@ -0,0 +1,34 @@
+package com.project.ecommerce.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the last sales rollup backfill, a single row. The backfill reads the orders up to
+ * {@code coveredUpToOrderId}; which of them it counts is decided per outbox event, see {@code SalesBackfillRunner}.
+ */
+@Entity
+@Table(name = "sales_backfill")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesBackfill {
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "covered_up_to_order_id", nullable = false)
+    private long coveredUpToOrderId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    // Null while the backfill is running
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
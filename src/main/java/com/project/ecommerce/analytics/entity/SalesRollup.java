@@ -0,0 +1,54 @@
+package com.project.ecommerce.analytics.entity;
+
+import com.project.ecommerce.analytics.constants.SalesDimension;
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sales of one product, one customer or the whole shop (dimension id 0) in one time bucket. Cancelled orders are
+ * taken out again when they are cancelled.
+ */
+@Entity
+@Table(name = "sales_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sales_rollups_bucket", columnNames = {"dimension", "granularity", "bucket_start", "dimension_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_rollups_seq")
+    @SequenceGenerator(name = "sales_rollups_seq", sequenceName = "sales_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    // The incremental handler and the backfill may update the same bucket
+    @Version
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SalesDimension dimension;
+
+    @Column(name = "dimension_id", nullable = false)
+    private long dimensionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TimeBucket granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false)
+    private double revenue;
+}
@@ -0,0 +1,33 @@
+package com.project.ecommerce.analytics.outbox;
+
+import com.project.ecommerce.analytics.service.AnalyticsService;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adds created orders to the sales rollups and takes cancelled ones out again, one rollup update per chunk of
+ * events.
+ */
+@RequiredArgsConstructor
+@Component
+public class SalesRollupHandler implements OutboxEventHandler {
+
+    // The backfill clears this handler's progress when it starts over
+    public static final String NAME = "SalesRollupHandler";
+
+    private final AnalyticsService analyticsService;
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        analyticsService.apply(events);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+}
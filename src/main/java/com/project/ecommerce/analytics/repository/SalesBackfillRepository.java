@@ -0,0 +1,7 @@
+package com.project.ecommerce.analytics.repository;
+
+import com.project.ecommerce.analytics.entity.SalesBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SalesBackfillRepository extends JpaRepository<SalesBackfill, Long> {
+}
@@ -0,0 +1,47 @@
+package com.project.ecommerce.analytics.repository;
+
+import com.project.ecommerce.analytics.constants.SalesDimension;
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import com.project.ecommerce.analytics.dto.SalesBucketDTO;
+import com.project.ecommerce.analytics.dto.SalesTotalDTO;
+import com.project.ecommerce.analytics.entity.SalesRollup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    // Rows of one series that a set of updates may touch
+    @Query("SELECT r FROM SalesRollup r WHERE r.dimension = :dimension AND r.granularity = :granularity " +
+            "AND r.bucketStart IN :bucketStarts AND r.dimensionId IN :dimensionIds")
+    List<SalesRollup> findRows(@Param("dimension") SalesDimension dimension, @Param("granularity") TimeBucket granularity,
+                               @Param("bucketStarts") Collection<LocalDateTime> bucketStarts,
+                               @Param("dimensionIds") Collection<Long> dimensionIds);
+
+    @Query("SELECT new com.project.ecommerce.analytics.dto.SalesBucketDTO(r.bucketStart, r.orderCount, r.quantity, r.revenue) " +
+            "FROM SalesRollup r WHERE r.dimension = :dimension AND r.granularity = :granularity AND r.dimensionId = 0 " +
+            "AND r.bucketStart >= :fromTime AND r.bucketStart < :toTime ORDER BY r.bucketStart")
+    List<SalesBucketDTO> findSeries(@Param("dimension") SalesDimension dimension, @Param("granularity") TimeBucket granularity,
+                                    @Param("fromTime") LocalDateTime from, @Param("toTime") LocalDateTime to);
+
+    /**
+     * Totals per product or customer over [from, to), read from the month rows in [monthsFrom, monthsTo) and the day
+     * rows outside it, so the rows scanned grow with the number of months rather than days.
+     */
+    @Query("SELECT new com.project.ecommerce.analytics.dto.SalesTotalDTO(r.dimensionId, SUM(r.orderCount), SUM(r.quantity), SUM(r.revenue)) " +
+            "FROM SalesRollup r WHERE r.dimension = :dimension AND (" +
+            "(r.granularity = :day AND ((r.bucketStart >= :fromTime AND r.bucketStart < :monthsFrom) " +
+            "OR (r.bucketStart >= :monthsTo AND r.bucketStart < :toTime))) " +
+            "OR (r.granularity = :month AND r.bucketStart >= :monthsFrom AND r.bucketStart < :monthsTo)) " +
+            "GROUP BY r.dimensionId ORDER BY SUM(r.revenue) DESC")
+    List<SalesTotalDTO> findTop(@Param("dimension") SalesDimension dimension,
+                                @Param("day") TimeBucket day, @Param("month") TimeBucket month,
+                                @Param("fromTime") LocalDateTime from, @Param("monthsFrom") LocalDateTime monthsFrom,
+                                @Param("monthsTo") LocalDateTime monthsTo, @Param("toTime") LocalDateTime to,
+                                Limit limit);
+}
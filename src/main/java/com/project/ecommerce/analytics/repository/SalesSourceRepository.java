@@ -0,0 +1,55 @@
+package com.project.ecommerce.analytics.repository;
+
+import com.project.ecommerce.analytics.dto.ItemSalesRow;
+import com.project.ecommerce.analytics.dto.OrderSalesRow;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.outbox.OutboxEventType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only access to the order columns the sales rollups are built from.
+ */
+public interface SalesSourceRepository extends Repository<Order, Long> {
+
+    @Query("SELECT new com.project.ecommerce.analytics.dto.OrderSalesRow(o.id, o.customer.id, o.createdAt, o.billingAmount) " +
+            "FROM Order o WHERE o.id IN :ids")
+    List<OrderSalesRow> findOrders(@Param("ids") Collection<Long> ids);
+
+    // Backfill chunk, seeks on the primary key so every chunk costs the same however far into the table it is
+    @Query("SELECT new com.project.ecommerce.analytics.dto.OrderSalesRow(o.id, o.customer.id, o.createdAt, o.billingAmount) " +
+            "FROM Order o WHERE o.id > :afterId AND o.id <= :highId ORDER BY o.id")
+    List<OrderSalesRow> findOrderChunk(@Param("afterId") Long afterId, @Param("highId") Long highId, Limit limit);
+
+    // Orders whose creation the outbox handler counts: their event is not processed yet, or the handler has handled it
+    // since its progress was last cleared
+    @Query("SELECT DISTINCT e.orderId FROM OutboxEvent e WHERE e.orderId IN :orderIds AND e.type = :created " +
+            "AND (e.processedAt IS NULL OR EXISTS (" +
+            "SELECT 1 FROM OutboxHandledEvent h WHERE h.eventId = e.id AND h.handler = :handler))")
+    List<Long> findCreatedLeftToHandler(@Param("orderIds") Collection<Long> orderIds, @Param("created") OutboxEventType created,
+                                        @Param("handler") String handler);
+
+    // Cancelled orders whose cancellation the outbox handler will not take out: its event was processed before the
+    // handler's progress was last cleared, or is gone with the purge
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :orderIds AND o.status = :cancelled AND NOT EXISTS (" +
+            "SELECT 1 FROM OutboxEvent e WHERE e.orderId = o.id AND e.toStatus = :cancelled AND (e.processedAt IS NULL " +
+            "OR EXISTS (SELECT 1 FROM OutboxHandledEvent h WHERE h.eventId = e.id AND h.handler = :handler)))")
+    List<Long> findCancelledBeforeHandler(@Param("orderIds") Collection<Long> orderIds, @Param("cancelled") OrderStatus cancelled,
+                                          @Param("handler") String handler);
+
+    @Query("SELECT new com.project.ecommerce.analytics.dto.ItemSalesRow(i.order.id, i.product.id, i.quantity, i.net_price) " +
+            "FROM OrderItem i WHERE i.order.id IN :orderIds")
+    List<ItemSalesRow> findItems(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT COALESCE(MIN(o.id), 0) FROM Order o")
+    long findMinId();
+
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM Order o")
+    long findMaxId();
+}
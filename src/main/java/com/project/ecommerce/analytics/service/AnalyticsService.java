@@ -0,0 +1,24 @@
+package com.project.ecommerce.analytics.service;
+
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import com.project.ecommerce.analytics.dto.SalesBackfillStatusDTO;
+import com.project.ecommerce.analytics.dto.SalesBucketDTO;
+import com.project.ecommerce.analytics.dto.SalesTotalDTO;
+import com.project.ecommerce.outbox.OutboxEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyticsService {
+    List<SalesBucketDTO> getRevenue(TimeBucket granularity, LocalDate from, LocalDate to);
+
+    List<SalesTotalDTO> getTopProducts(LocalDate from, LocalDate to, int limit);
+
+    List<SalesTotalDTO> getTopCustomers(LocalDate from, LocalDate to, int limit);
+
+    void apply(List<OutboxEvent> events);
+
+    SalesBackfillStatusDTO startBackfill();
+
+    SalesBackfillStatusDTO getBackfillStatus();
+}
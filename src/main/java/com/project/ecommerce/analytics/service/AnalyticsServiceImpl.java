@@ -0,0 +1,171 @@
+package com.project.ecommerce.analytics.service;
+
+import com.project.ecommerce.analytics.constants.SalesDimension;
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import com.project.ecommerce.analytics.dto.ItemSalesRow;
+import com.project.ecommerce.analytics.dto.OrderSalesRow;
+import com.project.ecommerce.analytics.dto.SalesBackfillStatusDTO;
+import com.project.ecommerce.analytics.dto.SalesBucketDTO;
+import com.project.ecommerce.analytics.dto.SalesTotalDTO;
+import com.project.ecommerce.analytics.repository.SalesRollupRepository;
+import com.project.ecommerce.analytics.repository.SalesSourceRepository;
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.exceptionhandling.InvalidDateRangeException;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventType;
+import com.project.ecommerce.products.cache.ProductCatalog;
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for sales analytics.
+ * Every query reads the sales rollups only; the rollups are kept up to date from the outbox and rebuilt by the
+ * {@link SalesBackfillRunner}.
+ */
+@RequiredArgsConstructor
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_TOP_LIMIT = 100;
+    private static final long MAX_SERIES_BUCKETS = 10_000;
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final SalesSourceRepository salesSourceRepository;
+    private final SalesRollupWriter salesRollupWriter;
+    private final SalesBackfillRunner salesBackfillRunner;
+    private final ProductCatalog productCatalog;
+    private final CustomerRepository customerRepository;
+
+    @Override
+    public List<SalesBucketDTO> getRevenue(TimeBucket granularity, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        validate(start, end);
+
+        // Keep responses bounded, long ranges have to use wider buckets
+        LocalDateTime fromTime = granularity.start(start.atStartOfDay());
+        LocalDateTime toTime = end.plusDays(1).atStartOfDay();
+        long buckets = switch (granularity) {
+            case HOUR -> ChronoUnit.HOURS.between(fromTime, toTime);
+            case DAY -> ChronoUnit.DAYS.between(fromTime, toTime);
+            case MONTH -> ChronoUnit.MONTHS.between(fromTime, toTime) + 1;
+        };
+        if (buckets > MAX_SERIES_BUCKETS) {
+            throw new InvalidDateRangeException("Range spans " + buckets + " " + granularity + " buckets, at most "
+                    + MAX_SERIES_BUCKETS + " are allowed");
+        }
+        return salesRollupRepository.findSeries(SalesDimension.TOTAL, granularity, fromTime, toTime);
+    }
+
+    @Override
+    public List<SalesTotalDTO> getTopProducts(LocalDate from, LocalDate to, int limit) {
+        List<SalesTotalDTO> top = findTop(SalesDimension.PRODUCT, from, to, limit);
+        Map<Long, ProductInfoDTO> products = productCatalog.getProducts(top.stream().map(SalesTotalDTO::getId).toList());
+        top.forEach(total -> {
+            ProductInfoDTO product = products.get(total.getId());
+            total.setName(product != null ? product.getName() : null);
+        });
+        return top;
+    }
+
+    @Override
+    public List<SalesTotalDTO> getTopCustomers(LocalDate from, LocalDate to, int limit) {
+        List<SalesTotalDTO> top = findTop(SalesDimension.CUSTOMER, from, to, limit);
+        Map<Long, String> names = customerRepository.findAllById(top.stream().map(SalesTotalDTO::getId).toList()).stream()
+                .collect(Collectors.toMap(Customer::getId, Customer::getName));
+        top.forEach(total -> total.setName(names.get(total.getId())));
+        return top;
+    }
+
+    @Override
+    @Transactional
+    public void apply(List<OutboxEvent> events) {
+        // The dispatcher hands over only the events the backfill leaves to this handler, see SalesBackfillRunner
+        List<Long> createdIds = events.stream()
+                .filter(event -> event.getType() == OutboxEventType.ORDER_CREATED)
+                .map(OutboxEvent::getOrderId)
+                .toList();
+        List<Long> cancelledIds = events.stream()
+                .filter(event -> event.getType() == OutboxEventType.ORDER_STATUS_CHANGED
+                        && event.getToStatus() == OrderStatus.CANCELLED)
+                .map(OutboxEvent::getOrderId)
+                .toList();
+        if (createdIds.isEmpty() && cancelledIds.isEmpty()) {
+            return;
+        }
+
+        // Load the orders and items of the whole chunk with two queries
+        List<Long> orderIds = Stream.concat(createdIds.stream(), cancelledIds.stream()).distinct().toList();
+        Map<Long, OrderSalesRow> orders = salesSourceRepository.findOrders(orderIds).stream()
+                .collect(Collectors.toMap(OrderSalesRow::getOrderId, Function.identity()));
+        Map<Long, List<ItemSalesRow>> items = salesSourceRepository.findItems(orderIds).stream()
+                .collect(Collectors.groupingBy(ItemSalesRow::getOrderId));
+
+        SalesAggregate aggregate = new SalesAggregate();
+        addOrders(aggregate, createdIds, orders, items, 1);
+        addOrders(aggregate, cancelledIds, orders, items, -1);
+        salesRollupWriter.write(aggregate);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SalesBackfillStatusDTO startBackfill() {
+        return salesBackfillRunner.start();
+    }
+
+    @Override
+    public SalesBackfillStatusDTO getBackfillStatus() {
+        return salesBackfillRunner.status();
+    }
+
+    private List<SalesTotalDTO> findTop(SalesDimension dimension, LocalDate from, LocalDate to, int limit) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        validate(start, end);
+
+        // Whole months inside the range are read from month rows, the days before and after them from day rows
+        LocalDateTime fromTime = start.atStartOfDay();
+        LocalDateTime toTime = end.plusDays(1).atStartOfDay();
+        LocalDateTime monthsFrom = start.getDayOfMonth() == 1 ? fromTime : TimeBucket.MONTH.next(TimeBucket.MONTH.start(fromTime));
+        LocalDateTime monthsTo = TimeBucket.MONTH.start(toTime);
+        if (!monthsFrom.isBefore(monthsTo)) {
+            monthsFrom = toTime;
+            monthsTo = toTime;
+        }
+        return salesRollupRepository.findTop(dimension, TimeBucket.DAY, TimeBucket.MONTH, fromTime, monthsFrom, monthsTo, toTime,
+                Limit.of(Math.min(Math.max(limit, 1), MAX_TOP_LIMIT)));
+    }
+
+    private void validate(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("Start date " + from + " is after end date " + to);
+        }
+    }
+
+    private void addOrders(SalesAggregate aggregate, List<Long> ids, Map<Long, OrderSalesRow> orders,
+                           Map<Long, List<ItemSalesRow>> items, int sign) {
+        for (Long id : ids) {
+            OrderSalesRow order = orders.get(id);
+            if (order != null) {
+                aggregate.addOrder(order, items.getOrDefault(id, List.of()), sign);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.project.ecommerce.analytics.service;
+
+import com.project.ecommerce.analytics.dto.ItemSalesRow;
+import com.project.ecommerce.analytics.dto.OrderSalesRow;
+import com.project.ecommerce.analytics.dto.SalesBackfillStatusDTO;
+import com.project.ecommerce.analytics.entity.SalesBackfill;
+import com.project.ecommerce.analytics.outbox.SalesRollupHandler;
+import com.project.ecommerce.analytics.repository.SalesBackfillRepository;
+import com.project.ecommerce.analytics.repository.SalesRollupRepository;
+import com.project.ecommerce.analytics.repository.SalesSourceRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.outbox.OutboxEventType;
+import com.project.ecommerce.outbox.OutboxHandledEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the sales rollups from the orders table.
+ * <p>
+ * The order id range is split into partitions that a fork-join pool works through in parallel; each partition
+ * streams its orders in id-ordered chunks, folds them into a {@link SalesAggregate} and writes it out whenever it
+ * grows past the flush size. Writes are serialised so partitions never race on the same bucket.
+ * <p>
+ * When a backfill starts it clears the rollups and the {@link SalesRollupHandler}'s per-event progress in one
+ * transaction. From then on, the handler counts every order creation and cancellation it is handed, which are exactly
+ * the events that were not processed yet or that it has handled since. The backfill counts an order unless the handler
+ * counts its creation, and leaves it out if it is cancelled and the handler will not take the cancellation out. Event
+ * ids are not in commit order, so the split is made per event rather than at an order or event id watermark: an order
+ * that commits late, whatever its id, has an unprocessed creation event and is left to the handler. Runs at startup if
+ * no backfill has completed yet, and again on request.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SalesBackfillRunner {
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final SalesSourceRepository salesSourceRepository;
+    private final SalesRollupRepository salesRollupRepository;
+    private final SalesBackfillRepository salesBackfillRepository;
+    private final SalesRollupWriter salesRollupWriter;
+    private final OutboxHandledEventRepository outboxHandledEventRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${analytics.backfill.parallelism:4}")
+    private int parallelism;
+
+    @Value("${analytics.backfill.partition-size:100000}")
+    private long partitionSize;
+
+    @Value("${analytics.backfill.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${analytics.backfill.flush-size:20000}")
+    private int flushSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        SalesBackfill backfill = salesBackfillRepository.findById(SalesBackfill.ID).orElse(null);
+        if (backfill != null && backfill.getCompletedAt() != null) {
+            return;
+        }
+        // Never run, or interrupted by a restart
+        start();
+    }
+
+    /**
+     * Clears the rollups and starts rebuilding them in the background. Does nothing if a backfill is already running.
+     */
+    public SalesBackfillStatusDTO start() {
+        if (!running.compareAndSet(false, true)) {
+            return status();
+        }
+        try {
+            long[] range = new TransactionTemplate(transactionManager).execute(status -> {
+                // Together with the rollups, so every event counted in them is either handed to the handler again or
+                // left to the backfill
+                salesRollupRepository.deleteAllInBatch();
+                outboxHandledEventRepository.deleteByHandler(SalesRollupHandler.NAME);
+                long highId = salesSourceRepository.findMaxId();
+                salesBackfillRepository.save(SalesBackfill.builder()
+                        .id(SalesBackfill.ID)
+                        .coveredUpToOrderId(highId)
+                        .startedAt(LocalDateTime.now())
+                        .build());
+                return new long[]{salesSourceRepository.findMinId(), highId};
+            });
+            // Orders above the high id committed after this point, the handler counts them
+            Thread.ofVirtual().name("sales-backfill").start(() -> run(range[0], range[1]));
+        } catch (RuntimeException ex) {
+            running.set(false);
+            throw ex;
+        }
+        return status();
+    }
+
+    public SalesBackfillStatusDTO status() {
+        return salesBackfillRepository.findById(SalesBackfill.ID)
+                .map(backfill -> new SalesBackfillStatusDTO(running.get(), backfill.getCoveredUpToOrderId(),
+                        backfill.getStartedAt(), backfill.getCompletedAt()))
+                .orElseGet(() -> new SalesBackfillStatusDTO(running.get(), null, null, null));
+    }
+
+    private void run(long lowId, long highId) {
+        long started = System.nanoTime();
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            if (highId > 0) {
+                pool.invoke(new PartitionTask(lowId - 1, highId));
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    salesBackfillRepository.findById(SalesBackfill.ID).ifPresent(backfill -> backfill.setCompletedAt(LocalDateTime.now())));
+            log.info("Sales backfill up to order {} finished in {} ms", highId, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Sales backfill up to order {} failed, start it again with POST /api/analytics/backfill", highId, ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Orders in (afterId, highId], streamed in id order
+    private void backfillPartition(long afterId, long highId) {
+        SalesAggregate aggregate = new SalesAggregate();
+        long cursor = afterId;
+        List<OrderSalesRow> orders;
+        do {
+            orders = salesSourceRepository.findOrderChunk(cursor, highId, Limit.of(chunkSize));
+            if (orders.isEmpty()) {
+                break;
+            }
+            addChunk(aggregate, orders);
+            cursor = orders.getLast().getOrderId();
+            if (aggregate.size() >= flushSize) {
+                write(aggregate);
+                aggregate = new SalesAggregate();
+            }
+        } while (orders.size() == chunkSize);
+        write(aggregate);
+    }
+
+    private void addChunk(SalesAggregate aggregate, List<OrderSalesRow> orders) {
+        List<Long> orderIds = orders.stream().map(OrderSalesRow::getOrderId).toList();
+        Set<Long> createdByHandler = new HashSet<>(salesSourceRepository.findCreatedLeftToHandler(
+                orderIds, OutboxEventType.ORDER_CREATED, SalesRollupHandler.NAME));
+        Set<Long> cancelledBefore = new HashSet<>(salesSourceRepository.findCancelledBeforeHandler(
+                orderIds, OrderStatus.CANCELLED, SalesRollupHandler.NAME));
+
+        // Counted here unless the handler counts the creation; an order whose cancellation the handler will not see
+        // is left out, or taken out again if the handler counts it
+        List<OrderSalesRow> added = new ArrayList<>();
+        List<OrderSalesRow> removed = new ArrayList<>();
+        for (OrderSalesRow order : orders) {
+            boolean created = !createdByHandler.contains(order.getOrderId());
+            boolean cancelled = cancelledBefore.contains(order.getOrderId());
+            if (created && !cancelled) {
+                added.add(order);
+            } else if (!created && cancelled) {
+                removed.add(order);
+            }
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        List<ItemSalesRow> items = salesSourceRepository.findItems(
+                Stream.concat(added.stream(), removed.stream()).map(OrderSalesRow::getOrderId).toList());
+        aggregate.addOrders(added, items, 1);
+        aggregate.addOrders(removed, items, -1);
+    }
+
+    private void write(SalesAggregate aggregate) {
+        writeLock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    salesRollupWriter.write(aggregate);
+                    return;
+                } catch (ConcurrencyFailureException | DataIntegrityViolationException ex) {
+                    // The outbox handler updated or created one of the buckets at the same time
+                    if (attempt == MAX_WRITE_ATTEMPTS) {
+                        throw ex;
+                    }
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private final class PartitionTask extends RecursiveAction {
+        private final long afterId;
+        private final long highId;
+
+        private PartitionTask(long afterId, long highId) {
+            this.afterId = afterId;
+            this.highId = highId;
+        }
+
+        @Override
+        protected void compute() {
+            if (highId - afterId <= partitionSize) {
+                backfillPartition(afterId, highId);
+                return;
+            }
+            long middle = afterId + (highId - afterId) / 2;
+            invokeAll(new PartitionTask(afterId, middle), new PartitionTask(middle, highId));
+        }
+    }
+}
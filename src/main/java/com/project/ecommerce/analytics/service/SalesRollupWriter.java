@@ -0,0 +1,69 @@
+package com.project.ecommerce.analytics.service;
+
+import com.project.ecommerce.analytics.constants.SalesDimension;
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import com.project.ecommerce.analytics.entity.SalesRollup;
+import com.project.ecommerce.analytics.repository.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adds a {@link SalesAggregate} to the rollup table with one read per series (dimension and bucket width) and
+ * batched inserts for the rows that do not exist yet.
+ */
+@RequiredArgsConstructor
+@Component
+@Transactional
+public class SalesRollupWriter {
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    public void write(SalesAggregate aggregate) {
+        if (aggregate.isEmpty()) {
+            return;
+        }
+        Map<Series, List<Map.Entry<SalesAggregate.Key, SalesAggregate.Totals>>> bySeries = aggregate.totals().entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> new Series(entry.getKey().dimension(), entry.getKey().granularity())));
+
+        List<SalesRollup> created = new ArrayList<>();
+        bySeries.forEach((series, entries) -> {
+            // Load the existing rows of the touched buckets and ids, the version check guards concurrent writers
+            Set<LocalDateTime> bucketStarts = entries.stream().map(entry -> entry.getKey().bucketStart()).collect(Collectors.toSet());
+            Set<Long> dimensionIds = entries.stream().map(entry -> entry.getKey().dimensionId()).collect(Collectors.toSet());
+            Map<SalesAggregate.Key, SalesRollup> rows = new HashMap<>(salesRollupRepository
+                    .findRows(series.dimension(), series.granularity(), bucketStarts, dimensionIds).stream()
+                    .collect(Collectors.toMap(row -> new SalesAggregate.Key(row.getDimension(), row.getDimensionId(),
+                            row.getGranularity(), row.getBucketStart()), Function.identity())));
+
+            for (Map.Entry<SalesAggregate.Key, SalesAggregate.Totals> entry : entries) {
+                SalesRollup row = rows.get(entry.getKey());
+                if (row == null) {
+                    row = SalesRollup.builder()
+                            .dimension(series.dimension())
+                            .dimensionId(entry.getKey().dimensionId())
+                            .granularity(series.granularity())
+                            .bucketStart(entry.getKey().bucketStart())
+                            .build();
+                    created.add(row);
+                }
+                row.setOrderCount(row.getOrderCount() + entry.getValue().orderCount());
+                row.setQuantity(row.getQuantity() + entry.getValue().quantity());
+                row.setRevenue(row.getRevenue() + entry.getValue().revenue());
+            }
+        });
+        salesRollupRepository.saveAll(created);
+    }
+
+    private record Series(SalesDimension dimension, TimeBucket granularity) {
+    }
+}
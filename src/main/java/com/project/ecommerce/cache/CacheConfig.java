@@ -0,0 +1,42 @@
+package com.project.ecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.ecommerce.orders.cache.OrderReadCache;
+import com.project.ecommerce.products.cache.ProductCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bounded in-process caches (Caffeine, W-TinyLFU eviction).
+ * Every cache records statistics, which Spring Boot publishes as cache.* metrics through actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.products.maximum-size:100000}") long productsMaximumSize,
+                                     @Value("${cache.products.ttl:10m}") Duration productsTtl,
+                                     @Value("${cache.orders.maximum-size:50000}") long ordersMaximumSize,
+                                     @Value("${cache.orders.ttl:60s}") Duration ordersTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(ProductCatalog.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(productsMaximumSize)
+                .expireAfterWrite(productsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(OrderReadCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(ordersMaximumSize)
+                .expireAfterWrite(ordersTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
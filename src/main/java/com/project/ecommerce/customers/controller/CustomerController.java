@@ -0,0 +1,35 @@
+package com.project.ecommerce.customers.controller;
+
+import com.project.ecommerce.orders.dto.CustomerOrderPageDTO;
+import com.project.ecommerce.orders.services.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for customer-centric views.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerController {
+
+    private final OrderService orderService;
+
+    /**
+     * Retrieves a customer's order history, newest first, one page at a time.
+     * Each entry carries the order's status, total and item count, items and products are not loaded.
+     *
+     * @param id the ID of the customer
+     * @param cursor (optional) the nextCursor of the previous page
+     * @param limit the maximum number of orders per page
+     * @return page of the customer's orders with HTTP 200
+     */
+    @GetMapping("/{id}/orders")
+    public ResponseEntity<CustomerOrderPageDTO> getCustomerOrders(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(orderService.getCustomerOrders(id, cursor, limit));
+    }
+}
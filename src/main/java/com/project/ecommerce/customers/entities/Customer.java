@@ -1,12 +1,8 @@
 package com.project.ecommerce.customers.entities;
 
-import com.project.ecommerce.orders.entities.Order;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Entity
 @Table(name = "customers")
 @Getter
@@ -15,7 +11,7 @@ import java.util.List;
 @AllArgsConstructor
 @RequiredArgsConstructor
 @Builder
-@ToString(exclude = "orders")
+@ToString
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,7 +19,4 @@ public class Customer {
 
     @NonNull
     private String name;
-
-    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
-    private List<Order> orders = new ArrayList<>();
 }
\ No newline at end of file
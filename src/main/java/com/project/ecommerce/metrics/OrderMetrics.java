@@ -0,0 +1,56 @@
+package com.project.ecommerce.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts created orders and rejected orders by reason, for the single and the batch endpoint alike.
+ */
+@Component
+public class OrderMetrics {
+
+    public static final String INSUFFICIENT_STOCK = "insufficient_stock";
+    public static final String NOT_FOUND = "not_found";
+    public static final String INVALID = "invalid";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter created;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.created = Counter.builder("orders.created")
+                .description("Orders saved")
+                .register(meterRegistry);
+    }
+
+    public void created(int count) {
+        created.increment(count);
+    }
+
+    /**
+     * Counts orders saved in the surrounding transaction once it commits, nothing is counted if it rolls back.
+     */
+    public void createdAfterCommit(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            created(count);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created(count);
+            }
+        });
+    }
+
+    public void rejected(String reason) {
+        Counter.builder("orders.rejected")
+                .description("Orders refused because of missing stock, unknown customers or products, or invalid input")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.ecommerce.orders.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.entities.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cache of fully mapped order responses, keyed by order ID and tagged with the order's version.
+ * <p>
+ * Writers refresh or invalidate entries after their transaction commits. A reader takes a stamp before it loads
+ * an order and may only cache the result if no invalidation of that order happened after the stamp, and an entry
+ * is never replaced by an older version. A slow reader therefore cannot put a stale order back into the cache.
+ */
+@RequiredArgsConstructor
+@Component
+public class OrderReadCache {
+
+    public static final String CACHE_NAME = "orders";
+
+    private final CacheManager cacheManager;
+
+    public OrderResponseDTO get(Long orderId) {
+        Entry entry = cache().getIfPresent(orderId);
+        return entry != null ? entry.dto() : null;
+    }
+
+    /**
+     * @return a stamp to take before loading an order that will be passed to {@link #put}
+     */
+    public long readStamp() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Caches an order loaded by a reader, unless it was invalidated or replaced by a newer version meanwhile.
+     */
+    public void put(Long orderId, long version, OrderResponseDTO dto, long readStamp) {
+        cache().asMap().compute(orderId, (id, current) -> {
+            if (current == null) {
+                return new Entry(version, dto, 0);
+            }
+            if (current.dto() == null) {
+                return readStamp > current.invalidatedAt() ? new Entry(version, dto, 0) : current;
+            }
+            return version >= current.version() ? new Entry(version, dto, 0) : current;
+        });
+    }
+
+    /**
+     * Caches the state a writer committed. The version is read once the transaction has committed and flushed it.
+     */
+    public void refreshAfterCommit(Order order, OrderResponseDTO dto) {
+        afterCommit(() -> cache().asMap().compute(order.getId(), (id, current) ->
+                current == null || current.dto() == null || order.getVersion() >= current.version()
+                        ? new Entry(order.getVersion(), dto, 0)
+                        : current));
+    }
+
+    public void invalidateAfterCommit(Long orderId) {
+        invalidateAfterCommit(List.of(orderId));
+    }
+
+    /**
+     * Invalidates the given orders now and again after commit. Bulk updates pass the ids they ran for, which costs
+     * one cache operation per id however many orders are cached.
+     */
+    public void invalidateAfterCommit(Collection<Long> orderIds) {
+        invalidate(orderIds);
+        afterCommit(() -> invalidate(orderIds));
+    }
+
+    private void invalidate(Collection<Long> orderIds) {
+        // Leave a marker instead of removing the entry, so reads that started earlier cannot refill it
+        long now = System.nanoTime();
+        for (Long orderId : orderIds) {
+            cache().put(orderId, new Entry(-1, null, now));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Long, Entry> cache() {
+        return (Cache<Long, Entry>) cacheManager.getCache(CACHE_NAME).getNativeCache();
+    }
+
+    private record Entry(long version, OrderResponseDTO dto, long invalidatedAt) {
+    }
+}
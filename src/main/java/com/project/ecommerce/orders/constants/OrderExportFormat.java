@@ -0,0 +1,26 @@
+package com.project.ecommerce.orders.constants;
+
+import org.springframework.http.MediaType;
+
+public enum OrderExportFormat {
+    // One line per order item, the order columns are repeated on every item line
+    CSV("text/csv", "csv"),
+    // One JSON object per order with its items nested
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    OrderExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -1,15 +1,31 @@
 package com.project.ecommerce.orders.controllers;
 
+import com.project.ecommerce.orders.constants.OrderExportFormat;
 import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.dto.BatchOrderResponseDTO;
+import com.project.ecommerce.orders.dto.OrderExportCriteria;
+import com.project.ecommerce.orders.dto.OrderPageDTO;
 import com.project.ecommerce.orders.dto.OrderRequestDTO;
 import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.dto.OrderSearchCriteria;
+import com.project.ecommerce.orders.services.OrderBatchService;
+import com.project.ecommerce.orders.services.OrderExportService;
 import com.project.ecommerce.orders.services.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -22,6 +38,11 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderExportService orderExportService;
+
+    @Value("${orders.export.timeout:1h}")
+    private Duration exportTimeout;
 
     /**
      * Creates a new order.
@@ -34,6 +55,30 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(dto));
     }
 
+    /**
+     * Creates many orders in one call. Orders are validated and written in chunks,
+     * and the response reports success or failure for every submitted order.
+     *
+     * @param dtos the order request payloads
+     * @return per-order results with HTTP 200 status
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchOrderResponseDTO> createOrders(@RequestBody List<OrderRequestDTO> dtos) {
+        return ResponseEntity.ok(orderBatchService.createOrders(dtos));
+    }
+
+    /**
+     * Creates many orders from a newline-delimited JSON stream, one order per line.
+     * The body is read line by line so large feeds are never buffered as a whole.
+     *
+     * @param body the NDJSON request body
+     * @return per-order results with HTTP 200 status
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BatchOrderResponseDTO> createOrdersFromStream(Reader body) throws IOException {
+        return ResponseEntity.ok(orderBatchService.createOrders(body));
+    }
+
     /**
      * Retrieves an order by its ID.
      *
@@ -61,19 +106,90 @@ public class OrderController {
     }
 
     /**
-     * Retrieves a list of all orders, optionally filtered by status.
+     * Retrieves one page of orders, newest first, optionally filtered by status.
+     * Pages are addressed with the opaque cursor returned by the previous page.
      *
      * @param status (optional) filter orders by their status
-     * @return list of matching orders with HTTP 200
+     * @param cursor (optional) the nextCursor of the previous page
+     * @param limit maximum number of orders in the page
+     * @return page of matching orders with HTTP 200
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAll(@RequestParam(required = false) OrderStatus status) {
-        List<OrderResponseDTO> orders = orderService.getAllOrders(status);
+    public ResponseEntity<OrderPageDTO> getAll(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        OrderPageDTO orders = orderService.getOrders(status, cursor, limit);
         return ResponseEntity.ok(orders);
     }
 
     /**
-     * Cancels (soft deletes) an order by its ID.
+     * Searches orders by any combination of status, customer, creation time and billing amount, newest first.
+     * Pages are addressed by cursor, pass the returned nextCursor to get the next page.
+     *
+     * @param criteria (optional) status, customerId, createdFrom, createdTo, minAmount and maxAmount filters
+     * @param cursor (optional) the nextCursor of the previous page
+     * @param limit the maximum number of orders per page
+     * @return page of matching orders with HTTP 200
+     */
+    @GetMapping("/search")
+    public ResponseEntity<OrderPageDTO> search(
+            OrderSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(orderService.searchOrders(criteria, cursor, limit));
+    }
+
+    /**
+     * Streams all orders, optionally filtered by status, as one JSON array.
+     * Rows are read from a scrolling cursor and written as they arrive, so memory use does not grow with the result.
+     *
+     * @param status (optional) filter orders by their status
+     * @return streamed JSON array of orders with HTTP 200
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam(required = false) OrderStatus status) {
+        StreamingResponseBody body = out -> orderService.streamOrders(status, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Exports orders with their items as a file download, oldest first.
+     * Rows are read from a forward-only cursor and written as they arrive, so exports of any size use the same memory.
+     * Every export holds a database connection while it runs, so only a few may run at once and each gets its own
+     * timeout instead of raising the timeout of every async request.
+     *
+     * @param criteria (optional) status, createdFrom and createdTo filters
+     * @param format CSV (one line per item) or NDJSON (one line per order)
+     * @param gzip whether to compress the response, sent with Content-Encoding gzip
+     * @return the streamed export with HTTP 200, or HTTP 429 when too many exports are running
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(
+            OrderExportCriteria criteria,
+            @RequestParam(defaultValue = "CSV") OrderExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        orderExportService.validate(criteria);
+        orderExportService.acquireSlot();
+
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format.getFileExtension() + "\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            try {
+                orderExportService.exportOrders(criteria, format, gzip, response.getOutputStream());
+            } finally {
+                orderExportService.releaseSlot();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Cancels (soft deletes) an order by its ID, as long as it has not shipped.
      *
      * @param id the ID of the order to update order status as CANCELLED
      * @return HTTP 204 (No Content) if cancellation was successful
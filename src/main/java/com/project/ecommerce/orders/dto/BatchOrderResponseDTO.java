@@ -0,0 +1,17 @@
+package com.project.ecommerce.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResponseDTO {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BatchOrderResultDTO> results;
+}
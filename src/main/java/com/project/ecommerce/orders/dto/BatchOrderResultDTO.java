@@ -0,0 +1,26 @@
+package com.project.ecommerce.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResultDTO {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private int index;          // position of the order in the submitted batch
+    private Long orderId;       // set when the order was created
+    private String status;
+    private String message;     // reason when the order was rejected
+
+    public static BatchOrderResultDTO created(int index, Long orderId) {
+        return new BatchOrderResultDTO(index, orderId, CREATED, null);
+    }
+
+    public static BatchOrderResultDTO failed(int index, String message) {
+        return new BatchOrderResultDTO(index, null, FAILED, message);
+    }
+}
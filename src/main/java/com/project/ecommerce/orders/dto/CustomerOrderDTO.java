@@ -0,0 +1,22 @@
+package com.project.ecommerce.orders.dto;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of a customer's order history, read without loading items or products.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderDTO {
+    private Long orderId;
+    private OrderStatus status;
+    private Double billingAmount;
+    private LocalDateTime createdAt;
+    private Long itemCount;
+}
@@ -0,0 +1,15 @@
+package com.project.ecommerce.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderPageDTO {
+    private List<CustomerOrderDTO> items;
+    private String nextCursor;  // null when this is the last page
+}
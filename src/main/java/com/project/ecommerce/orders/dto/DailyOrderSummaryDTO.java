@@ -0,0 +1,16 @@
+package com.project.ecommerce.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOrderSummaryDTO {
+    private LocalDate day;
+    private long orderCount;
+    private double revenue;  // excludes cancelled orders
+}
@@ -0,0 +1,21 @@
+package com.project.ecommerce.orders.dto;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of the order export, every field is optional. Created-at is matched as [createdFrom, createdTo).
+ */
+@Data
+public class OrderExportCriteria {
+    private OrderStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,26 @@
+package com.project.ecommerce.orders.dto;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of the order search, every field is optional. Created-at is matched as [createdFrom, createdTo),
+ * amounts are inclusive.
+ */
+@Data
+public class OrderSearchCriteria {
+    private OrderStatus status;
+    private Long customerId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    private Double minAmount;
+    private Double maxAmount;
+}
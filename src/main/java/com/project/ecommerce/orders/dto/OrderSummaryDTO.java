@@ -0,0 +1,19 @@
+package com.project.ecommerce.orders.dto;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryDTO {
+    private Map<OrderStatus, Long> ordersByStatus;
+    private long totalOrders;
+    private double revenue;  // billing total of all orders that were not cancelled
+    private List<DailyOrderSummaryDTO> ordersPerDay;
+}
@@ -0,0 +1,15 @@
+package com.project.ecommerce.orders.dto;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusSummaryDTO {
+    private OrderStatus status;
+    private Long orderCount;
+    private Double revenue;
+}
@@ -11,15 +11,29 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_stock_pending", columnList = "stock_pending"),
+        @Index(name = "idx_orders_status_id", columnList = "status, id"),
+        @Index(name = "idx_orders_customer_id_id", columnList = "customer_id, id"),
+        @Index(name = "idx_orders_customer_id_created_at", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
+
+    @Version
+    private long version;
+
+    // Part of every keyset on creation time, so it is never null
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Enumerated(EnumType.STRING)
@@ -28,7 +42,7 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
@@ -36,4 +50,10 @@ public class Order {
     private List<Payment> payments;
 
     private double billingAmount;
+
+    // Running total of card payments, kept in step with each payment insert under the order's version check
+    private double amountPaid;
+
+    // True until the inventory flush has written this order's quantities back to the products table
+    private boolean stockPending;
 }
\ No newline at end of file
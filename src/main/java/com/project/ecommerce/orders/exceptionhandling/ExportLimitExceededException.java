@@ -0,0 +1,7 @@
+package com.project.ecommerce.orders.exceptionhandling;
+
+public class ExportLimitExceededException extends RuntimeException {
+    public ExportLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -66,6 +66,78 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request.getRequestURI());
     }
 
+    /**
+     * Handles cases where an order kept changing while its status was being updated.
+     *
+     * @param ex the exception thrown
+     * @param request the HTTP request to get path info
+     * @return a 409 CONFLICT response with structured error
+     */
+    @ExceptionHandler(OrderStatusConflictException.class)
+    public ResponseEntity<ApiError> handleStatusConflict(OrderStatusConflictException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT, request.getRequestURI());
+    }
+
+    /**
+     * Handles cases where a pagination cursor cannot be decoded.
+     *
+     * @param ex the exception thrown
+     * @param request the HTTP request to get path info
+     * @return a 400 BAD REQUEST response with structured error
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request.getRequestURI());
+    }
+
+    /**
+     * Handles analytics queries whose date range is empty or too large.
+     *
+     * @param ex the exception thrown
+     * @param request the HTTP request to get path info
+     * @return a 400 BAD REQUEST response with structured error
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ApiError> handleInvalidDateRange(InvalidDateRangeException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request.getRequestURI());
+    }
+
+    /**
+     * Handles order searches with contradicting filters.
+     *
+     * @param ex the exception thrown
+     * @param request the HTTP request to get path info
+     * @return a 400 BAD REQUEST response with structured error
+     */
+    @ExceptionHandler(InvalidSearchCriteriaException.class)
+    public ResponseEntity<ApiError> handleInvalidSearchCriteria(InvalidSearchCriteriaException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request.getRequestURI());
+    }
+
+    /**
+     * Handles import files that cannot be read at all, such as a missing header column.
+     *
+     * @param ex the exception thrown
+     * @param request the HTTP request to get path info
+     * @return a 400 BAD REQUEST response with structured error
+     */
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ApiError> handleInvalidImportFile(InvalidImportFileException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request.getRequestURI());
+    }
+
+    /**
+     * Handles exports that are turned away because the maximum number of exports is already running.
+     *
+     * @param ex the exception thrown
+     * @param request the HTTP request to get path info
+     * @return a 429 TOO MANY REQUESTS response with structured error
+     */
+    @ExceptionHandler(ExportLimitExceededException.class)
+    public ResponseEntity<ApiError> handleExportLimitExceeded(ExportLimitExceededException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, request.getRequestURI());
+    }
+
     /**
      * Handles validation errors when @Valid fails on incoming request DTOs.
      * This method is triggered when a MethodArgumentNotValidException is thrown,
@@ -0,0 +1,7 @@
+package com.project.ecommerce.orders.exceptionhandling;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
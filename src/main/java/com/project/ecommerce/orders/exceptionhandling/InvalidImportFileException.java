@@ -0,0 +1,7 @@
+package com.project.ecommerce.orders.exceptionhandling;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
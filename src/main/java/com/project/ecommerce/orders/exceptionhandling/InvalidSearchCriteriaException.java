@@ -0,0 +1,7 @@
+package com.project.ecommerce.orders.exceptionhandling;
+
+public class InvalidSearchCriteriaException extends RuntimeException {
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.ecommerce.orders.exceptionhandling;
+
+public class OrderStatusConflictException extends RuntimeException {
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
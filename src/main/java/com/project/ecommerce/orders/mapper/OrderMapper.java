@@ -24,6 +24,13 @@ public interface OrderMapper {
     @Mapping(source = "billingAmount", target = "billingAmount")
     OrderResponseDTO toDto(Order order);
 
+    // Order fields only, for orders whose items are mapped from cached product data instead of product entities
+    @Named("withoutItems")
+    @Mapping(source = "customer.name", target = "customerName")
+    @Mapping(source = "id", target = "orderId")
+    @Mapping(target = "orderItems", ignore = true)
+    OrderResponseDTO toDtoWithoutItems(Order order);
+
     List<OrderItemResponseDTO> toOrderItemResponseList(List<OrderItem> items);
 
     @Mapping(source = "product.name", target = "productName")
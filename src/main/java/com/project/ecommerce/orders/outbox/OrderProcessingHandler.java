@@ -0,0 +1,33 @@
+package com.project.ecommerce.orders.outbox;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventHandler;
+import com.project.ecommerce.outbox.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves newly created orders from PENDING to PROCESSING as soon as their creation is committed, in one bulk
+ * update per chunk of events. Orders cancelled or changed in the meantime are left alone.
+ */
+@RequiredArgsConstructor
+@Component
+public class OrderProcessingHandler implements OutboxEventHandler {
+
+    private final OrderService orderService;
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        List<Long> createdIds = events.stream()
+                .filter(event -> event.getType() == OutboxEventType.ORDER_CREATED)
+                .map(OutboxEvent::getOrderId)
+                .toList();
+        if (!createdIds.isEmpty()) {
+            orderService.transitionOrders(createdIds, OrderStatus.PENDING, OrderStatus.PROCESSING);
+        }
+    }
+}
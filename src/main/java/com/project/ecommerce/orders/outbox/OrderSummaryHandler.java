@@ -0,0 +1,33 @@
+package com.project.ecommerce.orders.outbox;
+
+import com.project.ecommerce.orders.services.OrderSummaryService;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the daily order summary in step with order creations and status changes, one rollup update per chunk of
+ * events.
+ */
+@RequiredArgsConstructor
+@Component
+public class OrderSummaryHandler implements OutboxEventHandler {
+
+    // The rebuild marks the events it already counts as handled under this name
+    public static final String NAME = "OrderSummaryHandler";
+
+    private final OrderSummaryService orderSummaryService;
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        orderSummaryService.apply(events);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.ecommerce.orders.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creation time and billing amount of an order, all the order summary needs to place it in the rollup.
+ */
+public interface OrderAmountView {
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    double getBillingAmount();
+}
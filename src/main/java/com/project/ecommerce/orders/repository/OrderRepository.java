@@ -1,11 +1,97 @@
 package com.project.ecommerce.orders.repository;
 
 import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.dto.CustomerOrderDTO;
 import com.project.ecommerce.orders.entities.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByStatus(OrderStatus status);
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
     boolean existsByStatus(OrderStatus status);
+
+    // Loads an order together with everything OrderMapper touches in a single query
+    @EntityGraph(attributePaths = {"customer", "orderItems", "orderItems.product"})
+    Optional<Order> findWithDetailsById(Long id);
+
+    @EntityGraph(attributePaths = {"customer", "orderItems", "orderItems.product"})
+    List<Order> findWithDetailsByIdInOrderByIdDesc(Collection<Long> ids);
+
+    // Keyset pagination, newest orders first. Only ids are paged, details are fetched for the page afterwards
+    @Query("SELECT o.id FROM Order o WHERE o.id < :afterId ORDER BY o.id DESC")
+    List<Long> findPageIds(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.id < :afterId ORDER BY o.id DESC")
+    List<Long> findPageIdsByStatus(@Param("status") OrderStatus status, @Param("afterId") Long afterId, Limit limit);
+
+    // Customer order history, newest first, seeking on (customer_id, created_at, id). Items are only counted
+    @Query("SELECT new com.project.ecommerce.orders.dto.CustomerOrderDTO(o.id, o.status, o.billingAmount, o.createdAt, " +
+            "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o)) FROM Order o WHERE o.customer.id = :customerId " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<CustomerOrderDTO> findCustomerOrders(@Param("customerId") Long customerId, Limit limit);
+
+    @Query("SELECT new com.project.ecommerce.orders.dto.CustomerOrderDTO(o.id, o.status, o.billingAmount, o.createdAt, " +
+            "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o)) FROM Order o WHERE o.customer.id = :customerId " +
+            "AND (o.createdAt < :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id < :afterId)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<CustomerOrderDTO> findCustomerOrdersAfter(@Param("customerId") Long customerId,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterId") Long afterId, Limit limit);
+
+    // Oldest first, seeking past the last id of the previous chunk
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByStatusAfter(@Param("status") OrderStatus status, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    // Compare-and-set transition of one order, returns 0 if the order is no longer in the expected status
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1 WHERE o.id = :id AND o.status = :currentStatus")
+    int compareAndSetStatus(@Param("id") Long id, @Param("currentStatus") OrderStatus currentStatus,
+                            @Param("newStatus") OrderStatus newStatus);
+
+    // Set-based status transition, only rows still in the expected status are touched
+    // Exclusive locks in id order on the orders of a bulk transition that are still in the given status, taken before
+    // anything reads them with shared locks, so two bulk transitions queue up on each other instead of deadlocking
+    @Query(value = "SELECT o.id FROM orders o WHERE o.status = :status AND o.id IN (:ids) ORDER BY o.id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIdsByStatus(@Param("status") String status, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1 " +
+            "WHERE o.status = :currentStatus AND o.id IN :ids")
+    int updateStatusForIds(@Param("currentStatus") OrderStatus currentStatus, @Param("newStatus") OrderStatus newStatus,
+                           @Param("ids") Collection<Long> ids);
+
+    // Inventory write-behind
+    @Query("SELECT o.id FROM Order o WHERE o.stockPending = true ORDER BY o.id")
+    List<Long> findStockPendingIds(Limit limit);
+
+    @Query("SELECT i.product.id, SUM(i.quantity) FROM OrderItem i WHERE i.order.id IN :ids GROUP BY i.product.id")
+    List<Object[]> sumQuantitiesByProduct(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    // Bumps the version so an order loaded before the flush cannot write stock_pending = true back when it is saved
+    @Query("UPDATE Order o SET o.stockPending = false, o.version = o.version + 1 WHERE o.id IN :ids")
+    int clearStockPending(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o.id FROM Order o WHERE :status IS NULL OR o.status = :status ORDER BY o.id DESC")
+    Stream<Long> streamIdsByStatus(@Param("status") OrderStatus status);
+
+    // Order summary rollup
+    List<OrderAmountView> findByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,21 @@
+package com.project.ecommerce.orders.repository;
+
+import com.project.ecommerce.orders.dto.OrderSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for the order search, whose filters are combined at runtime.
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Returns the ids of matching orders below {@code afterId}, newest first. Only the filters that are set become
+     * predicates, so the database can pick the index that matches them.
+     *
+     * @param criteria the filters to apply
+     * @param afterId  keyset cursor, only orders with a smaller id are returned
+     * @param limit    maximum number of ids to return
+     */
+    List<Long> searchIds(OrderSearchCriteria criteria, long afterId, int limit);
+}
@@ -0,0 +1,56 @@
+package com.project.ecommerce.orders.repository;
+
+import com.project.ecommerce.orders.dto.OrderSearchCriteria;
+import com.project.ecommerce.orders.entities.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> searchIds(OrderSearchCriteria criteria, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.lessThan(order.get("id"), afterId));
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getCustomerId() != null) {
+            // Compared on the foreign key column, the customers table is not joined
+            predicates.add(cb.equal(order.get("customer").get("id"), criteria.getCustomerId()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.<LocalDateTime>get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(order.<LocalDateTime>get("createdAt"), criteria.getCreatedTo()));
+        }
+        if (criteria.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.<Double>get("billingAmount"), criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.<Double>get("billingAmount"), criteria.getMaxAmount()));
+        }
+
+        query.select(order.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(order.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
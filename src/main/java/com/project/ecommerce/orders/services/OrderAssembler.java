@@ -0,0 +1,102 @@
+package com.project.ecommerce.orders.services;
+
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.OrderItemResponseDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.orders.mapper.OrderMapper;
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import com.project.ecommerce.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds new Order entities from request payloads.
+ * Shared by single and batch order creation so both price orders the same way.
+ */
+@RequiredArgsConstructor
+@Component
+public class OrderAssembler {
+
+    private final OrderMapper orderMapper;
+    private final ProductRepository productRepository;
+
+    /**
+     * Sums the requested quantities per product, an order may list the same product more than once.
+     *
+     * @param items the requested order items
+     * @return requested quantity per product ID, in request order
+     */
+    public Map<Long, Integer> quantitiesByProduct(List<OrderItemRequestDTO> items) {
+        return items.stream()
+                .collect(Collectors.toMap(OrderItemRequestDTO::getProductId, OrderItemRequestDTO::getQuantity,
+                        Integer::sum, LinkedHashMap::new));
+    }
+
+    /**
+     * Maps the request to a PENDING order with its items and billing amount.
+     * Stock must already have been reserved by the caller, the order is flagged for the inventory write-back.
+     *
+     * @param dto the order request
+     * @param customer the customer placing the order
+     * @param products catalog data keyed by product ID, covering every item of the request
+     * @return the new, unsaved order
+     */
+    public Order assemble(OrderRequestDTO dto, Customer customer, Map<Long, ProductInfoDTO> products) {
+        // Map request DTO to Order entity
+        Order order = orderMapper.toEntity(dto);
+        order.setCustomer(customer);
+
+        // Build list of OrderItems
+        List<OrderItem> items = dto.getOrderItems().stream().map(itemDto -> {
+            ProductInfoDTO product = products.get(itemDto.getProductId());
+
+            // Create OrderItem, referencing the product without loading it
+            OrderItem item = new OrderItem();
+            item.setProduct(productRepository.getReferenceById(product.getId()));
+            item.setOrder(order);
+            item.setQuantity(itemDto.getQuantity());
+            item.setNet_price(product.getPrice() * itemDto.getQuantity());
+
+            return item;
+        }).collect(Collectors.toList());
+
+        order.setOrderItems(items);
+        double billingAmount = items.stream().mapToDouble(OrderItem::getNet_price).sum();
+        order.setBillingAmount(billingAmount);
+        order.setStockPending(true);
+        return order;
+    }
+
+    /**
+     * Maps an order built by {@link #assemble} to its response. Product names and prices come from the catalog data,
+     * so the product references of the items are never initialized.
+     *
+     * @param order the assembled order, saved or not
+     * @param products the catalog data the order was assembled from
+     * @return the response DTO of the order
+     */
+    public OrderResponseDTO toDto(Order order, Map<Long, ProductInfoDTO> products) {
+        OrderResponseDTO dto = orderMapper.toDtoWithoutItems(order);
+        dto.setOrderItems(order.getOrderItems().stream().map(item -> {
+            // Reading the ID of a reference does not load the product
+            ProductInfoDTO product = products.get(item.getProduct().getId());
+
+            OrderItemResponseDTO itemDto = new OrderItemResponseDTO();
+            itemDto.setProductName(product.getName());
+            itemDto.setQuantity(item.getQuantity());
+            itemDto.setPrice(product.getPrice());
+            itemDto.setNetPrice(item.getNet_price());
+            return itemDto;
+        }).collect(Collectors.toList()));
+        return dto;
+    }
+}
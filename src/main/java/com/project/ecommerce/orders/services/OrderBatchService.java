@@ -0,0 +1,14 @@
+package com.project.ecommerce.orders.services;
+
+import com.project.ecommerce.orders.dto.BatchOrderResponseDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+public interface OrderBatchService {
+    BatchOrderResponseDTO createOrders(List<OrderRequestDTO> orders);
+
+    BatchOrderResponseDTO createOrders(Reader ndjson) throws IOException;
+}
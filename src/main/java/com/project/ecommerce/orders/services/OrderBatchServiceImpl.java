@@ -0,0 +1,247 @@
+package com.project.ecommerce.orders.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.metrics.OrderMetrics;
+import com.project.ecommerce.orders.dto.BatchOrderResponseDTO;
+import com.project.ecommerce.orders.dto.BatchOrderResultDTO;
+import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.exceptionhandling.InsufficientStockException;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.outbox.OutboxService;
+import com.project.ecommerce.products.cache.ProductCatalog;
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import com.project.ecommerce.products.inventory.InventoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for bulk order ingestion.
+ * Orders are validated, reserved against the in-memory inventory and written in chunks, each chunk in its own transaction, so that
+ * Hibernate can send the inserts as JDBC batches and a large feed never holds one long transaction.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class OrderBatchServiceImpl implements OrderBatchService {
+
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final ProductCatalog productCatalog;
+    private final InventoryService inventoryService;
+    private final OrderAssembler orderAssembler;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final OrderMetrics orderMetrics;
+    private final OutboxService outboxService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${orders.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public BatchOrderResponseDTO createOrders(List<OrderRequestDTO> orders) {
+        BatchCollector collector = new BatchCollector();
+        for (int i = 0; i < orders.size(); i++) {
+            collector.add(new BatchEntry(i, orders.get(i), null));
+        }
+        return collector.finish();
+    }
+
+    @Override
+    public BatchOrderResponseDTO createOrders(Reader ndjson) throws IOException {
+        // Read one order per line so the whole feed never has to be held in memory
+        BatchCollector collector = new BatchCollector();
+        BufferedReader reader = new BufferedReader(ndjson);
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                collector.add(new BatchEntry(index, objectMapper.readValue(line, OrderRequestDTO.class), null));
+            } catch (JsonProcessingException ex) {
+                collector.add(new BatchEntry(index, null, "Malformed JSON request: " + ex.getOriginalMessage()));
+            }
+            index++;
+        }
+        return collector.finish();
+    }
+
+    private List<BatchOrderResultDTO> processChunk(List<BatchEntry> chunk) {
+        List<BatchOrderResultDTO> results = new ArrayList<>();
+
+        // Reject payloads that fail bean validation before touching the database
+        List<BatchEntry> valid = new ArrayList<>();
+        for (BatchEntry entry : chunk) {
+            String error = entry.error() != null ? entry.error() : validate(entry.dto());
+            if (error != null) {
+                results.add(BatchOrderResultDTO.failed(entry.index(), error));
+                orderMetrics.rejected(OrderMetrics.INVALID);
+            } else {
+                valid.add(entry);
+            }
+        }
+        if (valid.isEmpty()) {
+            return results;
+        }
+
+        // Rejections are collected outside the transaction so they keep their own reason if the save fails
+        List<Rejection> rejections = new ArrayList<>();
+        try {
+            List<BatchOrderResultDTO> inserted = new TransactionTemplate(transactionManager).execute(status -> insertChunk(valid, rejections));
+            orderMetrics.created(inserted.size());
+            results.addAll(inserted);
+        } catch (RuntimeException ex) {
+            // Whatever broke the chunk, it was rolled back and its stock reservations released. Only the orders that were
+            // not rejected on their own fail with the save error, the rest of the batch still runs
+            log.warn("Order batch chunk could not be saved", ex);
+            String reason = ex instanceof DataAccessException dataEx ? dataEx.getMostSpecificCause().getMessage() : ex.getMessage();
+            Set<Integer> rejected = rejections.stream().map(r -> r.result().getIndex()).collect(Collectors.toSet());
+            for (BatchEntry entry : valid) {
+                if (!rejected.contains(entry.index())) {
+                    results.add(BatchOrderResultDTO.failed(entry.index(), "Order could not be saved: " + reason));
+                }
+            }
+        }
+        for (Rejection rejection : rejections) {
+            results.add(rejection.result());
+            orderMetrics.rejected(rejection.reason());
+        }
+        return results;
+    }
+
+    private List<BatchOrderResultDTO> insertChunk(List<BatchEntry> entries, List<Rejection> rejections) {
+        // Load every customer referenced by the chunk in one round trip, products come from the catalog cache
+        Set<Long> customerIds = entries.stream().map(e -> e.dto().getCustomerId()).collect(Collectors.toSet());
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Set<Long> productIds = entries.stream()
+                .flatMap(e -> e.dto().getOrderItems().stream())
+                .map(OrderItemRequestDTO::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, ProductInfoDTO> products = productCatalog.getProducts(productIds);
+
+        // Reserve stock order by order, in submission order
+        List<Order> orders = new ArrayList<>();
+        List<BatchEntry> accepted = new ArrayList<>();
+        for (BatchEntry entry : entries) {
+            OrderRequestDTO dto = entry.dto();
+            Customer customer = customers.get(dto.getCustomerId());
+            if (customer == null) {
+                rejections.add(new Rejection(BatchOrderResultDTO.failed(entry.index(), "Customer not found with ID: " + dto.getCustomerId()),
+                        OrderMetrics.NOT_FOUND));
+                continue;
+            }
+            Map<Long, Integer> quantities = orderAssembler.quantitiesByProduct(dto.getOrderItems());
+            Long missingProductId = quantities.keySet().stream()
+                    .filter(productId -> !products.containsKey(productId))
+                    .findFirst().orElse(null);
+            if (missingProductId != null) {
+                rejections.add(new Rejection(BatchOrderResultDTO.failed(entry.index(), "Product not found with ID: " + missingProductId),
+                        OrderMetrics.NOT_FOUND));
+                continue;
+            }
+            try {
+                inventoryService.reserve(quantities, products);
+            } catch (InsufficientStockException ex) {
+                rejections.add(new Rejection(BatchOrderResultDTO.failed(entry.index(), ex.getMessage()), OrderMetrics.INSUFFICIENT_STOCK));
+                continue;
+            }
+            orders.add(orderAssembler.assemble(dto, customer, products));
+            accepted.add(entry);
+        }
+
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        outboxService.ordersCreated(orders.stream().map(Order::getId).toList());
+
+        List<BatchOrderResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            results.add(BatchOrderResultDTO.created(accepted.get(i).index(), orders.get(i).getId()));
+        }
+        return results;
+    }
+
+    private String validate(OrderRequestDTO dto) {
+        if (dto == null) {
+            return "Order payload is empty";
+        }
+        Set<ConstraintViolation<OrderRequestDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        // Same "fieldName: errorMessage" format as the single order endpoint
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record BatchEntry(int index, OrderRequestDTO dto, String error) {
+    }
+
+    // An order turned down on its own, with the reason it is counted under in the metrics
+    private record Rejection(BatchOrderResultDTO result, String reason) {
+    }
+
+    /**
+     * Buffers incoming orders into chunks and gathers the per-order results.
+     */
+    private class BatchCollector {
+        private final List<BatchEntry> chunk = new ArrayList<>();
+        private final List<BatchOrderResultDTO> results = new ArrayList<>();
+        private int received;
+
+        void add(BatchEntry entry) {
+            received++;
+            chunk.add(entry);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        BatchOrderResponseDTO finish() {
+            flush();
+            results.sort(Comparator.comparingInt(BatchOrderResultDTO::getIndex));
+            int created = (int) results.stream().filter(r -> BatchOrderResultDTO.CREATED.equals(r.getStatus())).count();
+            return new BatchOrderResponseDTO(received, created, received - created, results);
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                results.addAll(processChunk(chunk));
+                chunk.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.ecommerce.orders.services;
+
+import com.project.ecommerce.orders.exceptionhandling.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursor strings.
+ */
+public final class OrderCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private OrderCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return encode(Long.toString(lastId));
+    }
+
+    /**
+     * Encodes a position in a listing ordered by creation time and then id, both descending.
+     */
+    public static String encode(LocalDateTime lastCreatedAt, long lastId) {
+        Objects.requireNonNull(lastCreatedAt, "lastCreatedAt");
+        return encode(lastCreatedAt + SEPARATOR + lastId);
+    }
+
+    public static long decodeId(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public static Position decodePosition(String cursor) {
+        try {
+            String value = decode(cursor);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new Position(LocalDateTime.parse(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    public record Position(LocalDateTime createdAt, long id) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.ecommerce.orders.services;
+
+import com.project.ecommerce.orders.constants.OrderExportFormat;
+import com.project.ecommerce.orders.dto.OrderExportCriteria;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface OrderExportService {
+
+    /**
+     * Checks the filters before the response is committed, so a bad request still gets a 400.
+     */
+    void validate(OrderExportCriteria criteria);
+
+    /**
+     * Takes one of the export slots. Every running export holds a database connection until it finishes, so their
+     * number is capped below the pool size. Give the slot back with {@link #releaseSlot()}.
+     *
+     * @throws com.project.ecommerce.orders.exceptionhandling.ExportLimitExceededException if every slot is taken
+     */
+    void acquireSlot();
+
+    void releaseSlot();
+
+    void exportOrders(OrderExportCriteria criteria, OrderExportFormat format, boolean gzip, OutputStream out) throws IOException;
+}
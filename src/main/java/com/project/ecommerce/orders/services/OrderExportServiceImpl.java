@@ -0,0 +1,309 @@
+package com.project.ecommerce.orders.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ecommerce.orders.constants.OrderExportFormat;
+import com.project.ecommerce.orders.dto.OrderExportCriteria;
+import com.project.ecommerce.orders.exceptionhandling.ExportLimitExceededException;
+import com.project.ecommerce.orders.exceptionhandling.InvalidSearchCriteriaException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service implementation for full order exports.
+ * Orders and their items are read with one forward-only JDBC query and every row is written to the output as soon as
+ * it is read, so memory use does not depend on the number of orders exported. No entities are loaded.
+ */
+@RequiredArgsConstructor
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String SELECT_SQL =
+            "SELECT o.id, o.created_at, o.status, o.customer_id, c.name, o.billing_amount, o.amount_paid, " +
+            "i.id, i.product_id, p.name, i.quantity, i.net_price " +
+            "FROM orders o " +
+            "LEFT JOIN customers c ON c.id = o.customer_id " +
+            "LEFT JOIN order_items i ON i.order_id = o.id " +
+            "LEFT JOIN products p ON p.id = i.product_id";
+
+    // Keeps the rows of an order together and follows idx_orders_created_at_id, so rows stream out without a sort
+    private static final String ORDER_BY = " ORDER BY o.created_at, o.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Integer.MIN_VALUE, MySQL streams the rows instead of buffering the whole result
+    @Value("${orders.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Value("${orders.export.max-concurrent:4}")
+    private int maxConcurrent;
+
+    private Semaphore slots;
+
+    @PostConstruct
+    void init() {
+        slots = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public void acquireSlot() {
+        if (!slots.tryAcquire()) {
+            throw new ExportLimitExceededException("Too many exports are running, try again later");
+        }
+    }
+
+    @Override
+    public void releaseSlot() {
+        slots.release();
+    }
+
+    @Override
+    public void validate(OrderExportCriteria criteria) {
+        if (criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+                && !criteria.getCreatedFrom().isBefore(criteria.getCreatedTo())) {
+            throw new InvalidSearchCriteriaException("createdFrom must be before createdTo");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderExportCriteria criteria, OrderExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        validate(criteria);
+        // Sync flush, so flushing pushes the compressed bytes written so far to the client
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : out;
+        ExportWriter writer = format == OrderExportFormat.CSV ? new CsvWriter(target) : new NdjsonWriter(target);
+
+        // Send the first bytes before the query runs, the client sees the download start immediately
+        writer.start();
+        writer.flush();
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (criteria.getStatus() != null) {
+            conditions.add("o.status = ?");
+            args.add(criteria.getStatus().name());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            conditions.add("o.created_at >= ?");
+            args.add(criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            conditions.add("o.created_at < ?");
+            args.add(criteria.getCreatedTo());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(ORDER_BY);
+
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.row(rs);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            // Usually the client went away, stop reading and let the container deal with the broken response
+            throw ex.getCause();
+        }
+
+        writer.finish();
+        if (target instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        out.flush();
+    }
+
+    private interface ExportWriter {
+        void start() throws IOException;
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class CsvWriter implements ExportWriter {
+
+        private static final String HEADER = "order_id,created_at,status,customer_id,customer_name,billing_amount,amount_paid," +
+                "item_id,product_id,product_name,quantity,net_price\n";
+
+        private final Writer writer;
+
+        private CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(HEADER);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            cells(Long.toString(rs.getLong(1)),
+                    text(rs.getObject(2, LocalDateTime.class)),
+                    rs.getString(3),
+                    text(rs.getObject(4, Long.class)),
+                    rs.getString(5),
+                    decimal(rs.getDouble(6)),
+                    decimal(rs.getDouble(7)),
+                    text(rs.getObject(8, Long.class)),
+                    text(rs.getObject(9, Long.class)),
+                    rs.getString(10),
+                    text(rs.getObject(11, Integer.class)),
+                    decimal(rs.getObject(12, Double.class)));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void cells(String... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(value.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(value);
+                }
+            }
+            writer.write('\n');
+        }
+
+        private static String text(Object value) {
+            return value != null ? value.toString() : null;
+        }
+
+        // Plain notation, 1.0E7 would not be read as an amount by spreadsheets
+        private static String decimal(Double value) {
+            return value != null ? BigDecimal.valueOf(value).toPlainString() : null;
+        }
+    }
+
+    private final class NdjsonWriter implements ExportWriter {
+
+        private final JsonGenerator generator;
+        private long orderId = -1;
+
+        private NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start() {
+            // NDJSON has no header
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            // Rows arrive grouped by order, a new order id closes the previous order's line
+            long rowOrderId = rs.getLong(1);
+            if (rowOrderId != orderId) {
+                endOrder();
+                orderId = rowOrderId;
+                LocalDateTime createdAt = rs.getObject(2, LocalDateTime.class);
+                generator.writeStartObject();
+                generator.writeNumberField("orderId", rowOrderId);
+                generator.writeStringField("createdAt", createdAt != null ? createdAt.toString() : null);
+                generator.writeStringField("status", rs.getString(3));
+                number("customerId", rs.getObject(4, Long.class));
+                generator.writeStringField("customerName", rs.getString(5));
+                generator.writeNumberField("billingAmount", rs.getDouble(6));
+                generator.writeNumberField("amountPaid", rs.getDouble(7));
+                generator.writeArrayFieldStart("items");
+            }
+            Long itemId = rs.getObject(8, Long.class);
+            if (itemId != null) {
+                generator.writeStartObject();
+                generator.writeNumberField("itemId", itemId);
+                number("productId", rs.getObject(9, Long.class));
+                generator.writeStringField("productName", rs.getString(10));
+                generator.writeNumberField("quantity", rs.getInt(11));
+                generator.writeNumberField("netPrice", rs.getDouble(12));
+                generator.writeEndObject();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            endOrder();
+            generator.flush();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        private void endOrder() throws IOException {
+            if (orderId < 0) {
+                return;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void number(String field, Long value) throws IOException {
+            generator.writeFieldName(field);
+            if (value != null) {
+                generator.writeNumber(value);
+            } else {
+                generator.writeNull();
+            }
+        }
+    }
+}
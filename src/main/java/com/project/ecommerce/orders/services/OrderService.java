@@ -1,11 +1,16 @@
 package com.project.ecommerce.orders.services;
 
 import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.dto.CustomerOrderPageDTO;
+import com.project.ecommerce.orders.dto.OrderPageDTO;
 import com.project.ecommerce.orders.dto.OrderRequestDTO;
 import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.dto.OrderSearchCriteria;
 import com.project.ecommerce.orders.entities.Order;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 
 public interface OrderService {
     OrderResponseDTO createOrder(OrderRequestDTO orderRequestDTO);
@@ -14,14 +19,20 @@ public interface OrderService {
 
     Order getOrderEntityById(Long id);
 
-    List<OrderResponseDTO> getAllOrders(OrderStatus status);
+    OrderPageDTO getOrders(OrderStatus status, String cursor, int limit);
+
+    OrderPageDTO searchOrders(OrderSearchCriteria criteria, String cursor, int limit);
+
+    CustomerOrderPageDTO getCustomerOrders(Long customerId, String cursor, int limit);
+
+    void streamOrders(OrderStatus status, OutputStream out) throws IOException;
 
     OrderResponseDTO updateOrderStatus(Long id, OrderStatus status);
 
     void cancelOrder(Long id);
 
-    void updatePendingOrders();
+    int updatePendingOrders();
 
-    boolean hasPendingOrders();
+    int transitionOrders(Collection<Long> ids, OrderStatus currentStatus, OrderStatus newStatus);
 }
 
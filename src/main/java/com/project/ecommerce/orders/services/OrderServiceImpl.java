@@ -1,26 +1,52 @@
 package com.project.ecommerce.orders.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.ecommerce.customers.entities.Customer;
 import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.cache.OrderReadCache;
 import com.project.ecommerce.orders.constants.OrderStatus;
-import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.CustomerOrderDTO;
+import com.project.ecommerce.orders.dto.CustomerOrderPageDTO;
+import com.project.ecommerce.orders.dto.OrderPageDTO;
 import com.project.ecommerce.orders.dto.OrderRequestDTO;
 import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.dto.OrderSearchCriteria;
 import com.project.ecommerce.orders.entities.Order;
-import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.metrics.OrderMetrics;
 import com.project.ecommerce.orders.exceptionhandling.InsufficientStockException;
 import com.project.ecommerce.orders.exceptionhandling.InvalidOrderStatusException;
+import com.project.ecommerce.orders.exceptionhandling.InvalidSearchCriteriaException;
+import com.project.ecommerce.orders.exceptionhandling.OrderStatusConflictException;
 import com.project.ecommerce.orders.exceptionhandling.ResourceNotFoundException;
 import com.project.ecommerce.orders.mapper.OrderMapper;
 import com.project.ecommerce.orders.repository.OrderRepository;
-import com.project.ecommerce.products.entities.Product;
-import com.project.ecommerce.products.repository.ProductRepository;
+import com.project.ecommerce.outbox.OutboxService;
+import com.project.ecommerce.products.cache.ProductCatalog;
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import com.project.ecommerce.products.inventory.InventoryService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing orders.
@@ -29,61 +55,95 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Service
 @Transactional
+@Timed(value = "orders.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
-    private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
     private final OrderMapper orderMapper;
+    private final OrderAssembler orderAssembler;
+    private final InventoryService inventoryService;
+    private final OrderReadCache orderReadCache;
+    private final OrderMetrics orderMetrics;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${scheduler.chunk-size:1000}")
+    private int schedulerChunkSize;
 
 
     @Override
     public OrderResponseDTO createOrder(OrderRequestDTO dto) {
+        try {
+            OrderResponseDTO response = placeOrder(dto);
+            orderMetrics.createdAfterCommit(1);
+            return response;
+        } catch (InsufficientStockException ex) {
+            orderMetrics.rejected(OrderMetrics.INSUFFICIENT_STOCK);
+            throw ex;
+        } catch (ResourceNotFoundException ex) {
+            orderMetrics.rejected(OrderMetrics.NOT_FOUND);
+            throw ex;
+        }
+    }
+
+    private OrderResponseDTO placeOrder(OrderRequestDTO dto) {
         // Retrieve customer or throw if not found
         Customer customer = customerRepository.findById(dto.getCustomerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + dto.getCustomerId()));
 
-        // Map request DTO to Order entity
-        Order order = orderMapper.toEntity(dto);
-        order.setCustomer(customer);
+        // Sum requested quantities per product
+        Map<Long, Integer> quantities = orderAssembler.quantitiesByProduct(dto.getOrderItems());
 
-        // Build list of OrderItems, validate stock, and update product quantities
-        List<OrderItem> items = dto.getOrderItems().stream().map(itemDto -> {
-            Product product = productRepository.findById(itemDto.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + itemDto.getProductId()));
-
-            if (product.getAvailableQuantity() < itemDto.getQuantity()) {
-                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+        // Look up name and price of all products of the order in the catalog cache
+        Map<Long, ProductInfoDTO> products = productCatalog.getProducts(quantities.keySet());
+        for (Long productId : quantities.keySet()) {
+            if (!products.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product not found with ID: " + productId);
             }
+        }
 
-            // Reduce available quantity
-            product.setAvailableQuantity(product.getAvailableQuantity() - itemDto.getQuantity());
-
-            // Create OrderItem
-            OrderItem item = new OrderItem();
-            item.setProduct(product);
-            item.setOrder(order);
-            item.setQuantity(itemDto.getQuantity());
-            item.setNet_price(product.getPrice() * itemDto.getQuantity());
-
-            return item;
-        }).collect(Collectors.toList());
+        // Reserve stock in memory, released again if the order does not commit and written back to products in the background
+        inventoryService.reserve(quantities, products);
 
-        order.setOrderItems(items);
-        double billingAmount = items.stream().mapToDouble(OrderItem::getNet_price).sum();
-        order.setBillingAmount(billingAmount);
+        // Build the order with its items and billing amount
+        Order order = orderAssembler.assemble(dto, customer, products);
 
-        // Save order and return DTO
+        // Save order and record its creation in the outbox, which moves it on to processing once committed
         Order savedOrder = orderRepository.save(order);
-        return orderMapper.toDto(savedOrder);
+        outboxService.orderCreated(savedOrder);
+
+        // Return DTO built from the catalog data, cached for the client's first status poll once committed
+        OrderResponseDTO response = orderAssembler.toDto(savedOrder, products);
+        orderReadCache.refreshAfterCommit(savedOrder, response);
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public OrderResponseDTO getOrderById(Long id) {
-        // Retrieve order by ID or throw if not found
-        Order order = orderRepository.findById(id)
+        // Serve hot orders from the read cache without touching the database
+        OrderResponseDTO cached = orderReadCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Retrieve order with its customer, items and products or throw if not found
+        long readStamp = orderReadCache.readStamp();
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
-        return orderMapper.toDto(order);
+        OrderResponseDTO dto = orderMapper.toDto(order);
+        orderReadCache.put(id, order.getVersion(), dto, readStamp);
+        return dto;
     }
 
     @Override
@@ -92,52 +152,184 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<OrderResponseDTO> getAllOrders(OrderStatus status) {
-        // Retrieve orders, optionally filtered by status
-        List<Order> orders = (status != null)
-                ? orderRepository.findByStatus(status)
-                : orderRepository.findAll();
-
-        // Map entities to DTOs
-        return orders.stream()
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrders(OrderStatus status, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long afterId = cursor != null ? OrderCursor.decodeId(cursor) : Long.MAX_VALUE;
+
+        // Seek past the cursor on the primary key and fetch one extra id to learn whether another page follows
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Long> ids = (status != null)
+                ? orderRepository.findPageIdsByStatus(status, afterId, fetchLimit)
+                : orderRepository.findPageIds(afterId, fetchLimit);
+        return toPage(ids, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO searchOrders(OrderSearchCriteria criteria, String cursor, int limit) {
+        if (criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+                && !criteria.getCreatedFrom().isBefore(criteria.getCreatedTo())) {
+            throw new InvalidSearchCriteriaException("createdFrom must be before createdTo");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount() > criteria.getMaxAmount()) {
+            throw new InvalidSearchCriteriaException("minAmount must not be greater than maxAmount");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long afterId = cursor != null ? OrderCursor.decodeId(cursor) : Long.MAX_VALUE;
+
+        // Same keyset as getOrders, one extra id tells whether another page follows and no COUNT(*) is needed
+        return toPage(orderRepository.searchIds(criteria, afterId, pageSize + 1), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerOrderPageDTO getCustomerOrders(Long customerId, String cursor, int limit) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found with ID: " + customerId);
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        // Seek past the cursor on (created_at, id) and fetch one extra row to learn whether another page follows
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<CustomerOrderDTO> rows;
+        if (cursor != null) {
+            OrderCursor.Position after = OrderCursor.decodePosition(cursor);
+            rows = orderRepository.findCustomerOrdersAfter(customerId, after.createdAt(), after.id(), fetchLimit);
+        } else {
+            rows = orderRepository.findCustomerOrders(customerId, fetchLimit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<CustomerOrderDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        CustomerOrderDTO last = hasMore ? page.get(page.size() - 1) : null;
+        String nextCursor = last != null ? OrderCursor.encode(last.getCreatedAt(), last.getOrderId()) : null;
+        return new CustomerOrderPageDTO(new ArrayList<>(page), nextCursor);
+    }
+
+    private OrderPageDTO toPage(List<Long> ids, int pageSize) {
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        String nextCursor = hasMore ? OrderCursor.encode(pageIds.get(pageIds.size() - 1)) : null;
+        return new OrderPageDTO(loadDetails(pageIds), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOrders(OrderStatus status, OutputStream out) throws IOException {
+        try (Stream<Long> ids = orderRepository.streamIdsByStatus(status);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            List<Long> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            Iterator<Long> iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    for (OrderResponseDTO dto : loadDetails(chunk)) {
+                        generator.writeObject(dto);
+                    }
+                    chunk.clear();
+                    // Drop written orders so the persistence context stays small however many rows are scrolled
+                    entityManager.clear();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Loads the given orders with customer, items and products in one query and maps them in id order (newest first).
+     */
+    private List<OrderResponseDTO> loadDetails(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return orderRepository.findWithDetailsByIdInOrderByIdDesc(ids).stream()
                 .map(orderMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponseDTO updateOrderStatus(Long id, OrderStatus status) {
-        // Retrieve order and update status
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
-        order.setStatus(status);
-        Order updated = orderRepository.save(order);
-        return orderMapper.toDto(updated);
+        // Move the order if the transition table allows it, then return its committed state
+        transition(id, status, current -> new InvalidOrderStatusException(
+                "Order status cannot change from " + current + " to " + status));
+        return getOrderById(id);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cancelOrder(Long id) {
-        // Retrieve order and cancel if it is pending
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new InvalidOrderStatusException("Only PENDING orders can be cancelled");
+        // Cancel the order if it has not shipped yet, new orders move to PROCESSING as soon as they are committed
+        transition(id, OrderStatus.CANCELLED, current ->
+                new InvalidOrderStatusException("Only PENDING or PROCESSING orders can be cancelled"));
+    }
+
+    /**
+     * Moves one order to a new status with a compare-and-set update instead of a row lock. If another writer changed
+     * the status between the read and the update, the transition is validated again against the new status.
+     * Every attempt runs in its own transaction so it reads the latest committed status.
+     */
+    private void transition(Long id, OrderStatus newStatus, Function<OrderStatus, RuntimeException> invalidTransition) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; attempt <= MAX_TRANSITION_ATTEMPTS; attempt++) {
+            boolean applied = transactionTemplate.execute(status -> {
+                OrderStatus current = orderRepository.findStatusById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
+                if (!current.canTransitionTo(newStatus)) {
+                    throw invalidTransition.apply(current);
+                }
+                if (orderRepository.compareAndSetStatus(id, current, newStatus) == 0) {
+                    return false;
+                }
+                outboxService.statusChanged(id, current, newStatus);
+                orderReadCache.invalidateAfterCommit(id);
+                return true;
+            });
+            if (applied) {
+                return;
+            }
         }
-        order.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        throw new OrderStatusConflictException("Order " + id + " kept changing while its status was being updated, please retry");
     }
 
     @Override
-    public boolean hasPendingOrders() {
-        return orderRepository.existsByStatus(OrderStatus.PENDING);
+    public int transitionOrders(Collection<Long> ids, OrderStatus currentStatus, OrderStatus newStatus) {
+        if (!currentStatus.canTransitionTo(newStatus)) {
+            throw new InvalidOrderStatusException("Order status cannot change from " + currentStatus + " to " + newStatus);
+        }
+        // Lock the orders still in the current status, then move exactly those and record their events.
+        // Orders that already left the current status are skipped.
+        List<Long> lockedIds = ids.isEmpty() ? List.of() : orderRepository.lockIdsByStatus(currentStatus.name(), ids);
+        if (lockedIds.isEmpty()) {
+            return 0;
+        }
+        int moved = orderRepository.updateStatusForIds(currentStatus, newStatus, lockedIds);
+        outboxService.statusChangedForIds(lockedIds, currentStatus, newStatus);
+        orderReadCache.invalidateAfterCommit(lockedIds);
+        return moved;
     }
 
     @Override
-    public void updatePendingOrders() {
-        // Scheduler will update all PENDING order status as PROCESSING status
-        List<Order> pendingOrders = orderRepository.findByStatus(OrderStatus.PENDING);
-        for (Order order : pendingOrders) {
-            order.setStatus(OrderStatus.PROCESSING);
-            orderRepository.save(order);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int updatePendingOrders() {
+        // Safety net for orders whose creation event was not handled, moves all PENDING orders to PROCESSING
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int moved = 0;
+        long lastId = 0;
+        while (true) {
+            // Seek the next chunk of PENDING ids on idx_orders_status_id, so gaps between them cost nothing
+            List<Long> ids = orderRepository.findIdsByStatusAfter(OrderStatus.PENDING, lastId, Limit.of(schedulerChunkSize));
+            if (ids.isEmpty()) {
+                return moved;
+            }
+            lastId = ids.getLast();
+
+            // Commit each chunk on its own, so a large backlog never holds one long transaction
+            moved += transactionTemplate.execute(status -> transitionOrders(ids, OrderStatus.PENDING, OrderStatus.PROCESSING));
         }
     }
 
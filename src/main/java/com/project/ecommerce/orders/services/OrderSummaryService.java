@@ -0,0 +1,14 @@
+package com.project.ecommerce.orders.services;
+
+import com.project.ecommerce.orders.dto.OrderSummaryDTO;
+import com.project.ecommerce.outbox.OutboxEvent;
+
+import java.util.List;
+
+public interface OrderSummaryService {
+    OrderSummaryDTO getSummary(int days);
+
+    void apply(List<OutboxEvent> events);
+
+    void rebuildIfEmpty();
+}
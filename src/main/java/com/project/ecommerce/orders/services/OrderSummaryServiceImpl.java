@@ -0,0 +1,181 @@
+package com.project.ecommerce.orders.services;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.dto.DailyOrderSummaryDTO;
+import com.project.ecommerce.orders.dto.OrderSummaryDTO;
+import com.project.ecommerce.orders.dto.StatusSummaryDTO;
+import com.project.ecommerce.orders.outbox.OrderSummaryHandler;
+import com.project.ecommerce.orders.repository.OrderAmountView;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.summary.OrderDailySummary;
+import com.project.ecommerce.orders.summary.OrderDailySummaryRepository;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventRepository;
+import com.project.ecommerce.outbox.OutboxEventType;
+import com.project.ecommerce.outbox.OutboxHandledEvent;
+import com.project.ecommerce.outbox.OutboxHandledEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for the order summary shown on the dashboard.
+ * Reads come from the daily rollup table; the rollup is updated from the outbox as orders are created and change
+ * status, and rebuilt from the orders table when it is empty.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+
+    private final OrderDailySummaryRepository summaryRepository;
+    private final OrderRepository orderRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxHandledEventRepository outboxHandledEventRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSummaryDTO getSummary(int days) {
+        // Totals per status over the whole rollup
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            ordersByStatus.put(status, 0L);
+        }
+        long totalOrders = 0;
+        double revenue = 0;
+        for (StatusSummaryDTO totals : summaryRepository.sumByStatus()) {
+            ordersByStatus.put(totals.getStatus(), totals.getOrderCount());
+            totalOrders += totals.getOrderCount();
+            if (totals.getStatus() != OrderStatus.CANCELLED) {
+                revenue += totals.getRevenue();
+            }
+        }
+
+        // Orders created per day over the requested window, oldest first
+        Map<LocalDate, DailyOrderSummaryDTO> perDay = new TreeMap<>();
+        for (OrderDailySummary row : summaryRepository.findByDayGreaterThanEqualOrderByDay(LocalDate.now().minusDays(days - 1L))) {
+            DailyOrderSummaryDTO day = perDay.computeIfAbsent(row.getDay(), d -> new DailyOrderSummaryDTO(d, 0, 0));
+            day.setOrderCount(day.getOrderCount() + row.getOrderCount());
+            if (row.getStatus() != OrderStatus.CANCELLED) {
+                day.setRevenue(day.getRevenue() + row.getRevenue());
+            }
+        }
+        return new OrderSummaryDTO(ordersByStatus, totalOrders, revenue, new ArrayList<>(perDay.values()));
+    }
+
+    @Override
+    public void apply(List<OutboxEvent> events) {
+        List<OutboxEvent> changes = events.stream()
+                .filter(event -> event.getType() == OutboxEventType.ORDER_CREATED
+                        || event.getType() == OutboxEventType.ORDER_STATUS_CHANGED)
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // Look up the day and amount of every order in the chunk with one query
+        Map<Long, OrderAmountView> orders = orderRepository.findByIdIn(changes.stream().map(OutboxEvent::getOrderId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(OrderAmountView::getId, Function.identity()));
+
+        // Fold the chunk into one delta per day and status
+        Map<SummaryKey, Delta> deltas = new HashMap<>();
+        for (OutboxEvent event : changes) {
+            OrderAmountView order = orders.get(event.getOrderId());
+            if (order == null || order.getCreatedAt() == null) {
+                continue;
+            }
+            LocalDate day = order.getCreatedAt().toLocalDate();
+            if (event.getType() == OutboxEventType.ORDER_STATUS_CHANGED) {
+                deltas.computeIfAbsent(new SummaryKey(day, event.getFromStatus()), key -> new Delta())
+                        .add(-1, -order.getBillingAmount());
+            }
+            deltas.computeIfAbsent(new SummaryKey(day, event.getToStatus()), key -> new Delta())
+                    .add(1, order.getBillingAmount());
+        }
+
+        // Apply the deltas to the existing rows of the affected days, creating the rows that are missing
+        Map<SummaryKey, OrderDailySummary> rows = summaryRepository.findByDayIn(deltas.keySet().stream().map(SummaryKey::day).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(row -> new SummaryKey(row.getDay(), row.getStatus()), Function.identity()));
+        List<OrderDailySummary> changed = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            OrderDailySummary row = rows.computeIfAbsent(key, k -> OrderDailySummary.builder()
+                    .day(k.day())
+                    .status(k.status())
+                    .build());
+            row.setOrderCount(row.getOrderCount() + delta.orderCount);
+            row.setRevenue(row.getRevenue() + delta.revenue);
+            changed.add(row);
+        });
+        summaryRepository.saveAll(changed);
+    }
+
+    /**
+     * Fills an empty rollup from the orders table. Runs at startup before the outbox dispatcher begins, while requests
+     * may already be changing orders. The orders and the unprocessed outbox events are read from one snapshot, and
+     * those events are marked as handled by the {@link OrderSummaryHandler} in the same transaction, so each change is
+     * counted either by the rebuild or by the handler, also for events that commit out of id order.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void rebuildIfEmpty() {
+        if (summaryRepository.count() > 0) {
+            return;
+        }
+        List<Long> countedEventIds = outboxEventRepository.findUnprocessedIds();
+        List<OrderDailySummary> rows = summaryRepository.summarizeOrders().stream()
+                .map(totals -> OrderDailySummary.builder()
+                        .day(totals.getDay())
+                        .status(totals.getStatus())
+                        .orderCount(totals.getOrderCount())
+                        .revenue(totals.getRevenue())
+                        .build())
+                .toList();
+        summaryRepository.saveAll(rows);
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxHandledEventRepository.deleteByHandler(OrderSummaryHandler.NAME);
+        outboxHandledEventRepository.saveAll(countedEventIds.stream()
+                .map(eventId -> {
+                    OutboxHandledEvent handled = new OutboxHandledEvent(eventId, OrderSummaryHandler.NAME);
+                    handled.setCompletedAt(now);
+                    return handled;
+                })
+                .toList());
+        log.info("Rebuilt order summary with {} rows, {} pending outbox events already counted", rows.size(), countedEventIds.size());
+    }
+
+    private record SummaryKey(LocalDate day, OrderStatus status) {
+    }
+
+    private static final class Delta {
+        private long orderCount;
+        private double revenue;
+
+        private void add(long orders, double amount) {
+            orderCount += orders;
+            revenue += amount;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.ecommerce.orders.summary;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Number and billing total of the orders created on one day that are currently in one status. Kept up to date from
+ * the outbox, so reading the dashboard never scans the orders table.
+ */
+@Entity
+@Table(name = "order_daily_summary", uniqueConstraints = @UniqueConstraint(
+        name = "uk_order_daily_summary_day_status", columnNames = {"summary_day", "status"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDailySummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "summary_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private double revenue;
+}
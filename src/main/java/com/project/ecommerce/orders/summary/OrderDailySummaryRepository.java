@@ -0,0 +1,25 @@
+package com.project.ecommerce.orders.summary;
+
+import com.project.ecommerce.orders.dto.StatusSummaryDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderDailySummaryRepository extends JpaRepository<OrderDailySummary, Long> {
+
+    List<OrderDailySummary> findByDayIn(Collection<LocalDate> days);
+
+    List<OrderDailySummary> findByDayGreaterThanEqualOrderByDay(LocalDate from);
+
+    @Query("SELECT new com.project.ecommerce.orders.dto.StatusSummaryDTO(s.status, SUM(s.orderCount), SUM(s.revenue)) " +
+            "FROM OrderDailySummary s GROUP BY s.status")
+    List<StatusSummaryDTO> sumByStatus();
+
+    // The whole rollup recomputed from the orders table, a plain read so it sees the transaction's snapshot
+    @Query("SELECT CAST(o.createdAt AS LocalDate) AS day, o.status AS status, COUNT(o) AS orderCount, " +
+            "SUM(o.billingAmount) AS revenue FROM Order o GROUP BY CAST(o.createdAt AS LocalDate), o.status")
+    List<OrderDayStatusView> summarizeOrders();
+}
@@ -0,0 +1,18 @@
+package com.project.ecommerce.orders.summary;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Number and billing total of the orders created on one day that are in one status, as read from the orders table.
+ */
+public interface OrderDayStatusView {
+    LocalDate getDay();
+
+    OrderStatus getStatus();
+
+    long getOrderCount();
+
+    double getRevenue();
+}
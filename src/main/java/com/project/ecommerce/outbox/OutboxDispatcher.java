@@ -0,0 +1,229 @@
+package com.project.ecommerce.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tails the outbox on one virtual thread and passes new events to every {@link OutboxEventHandler} in ID order.
+ * <p>
+ * Writers wake the dispatcher when their transaction commits, so events are usually handled within milliseconds.
+ * It also polls at a fixed interval to pick up events whose wake-up was lost, e.g. across a restart. Every handler
+ * gets each chunk in a transaction of its own, which also records an {@link OutboxHandledEvent} for every event of the
+ * chunk, so a failing handler neither rolls back nor repeats the work of the others. If a handler fails on a chunk,
+ * that handler alone is retried event by event. An event that still fails with a transient error, e.g. a lock conflict
+ * or a deadlock, is tried again on the next polls; after {@code outbox.max-attempts} attempts, or at once for any other
+ * error, it is marked with the error and skipped for that handler. Events are marked processed once every handler has
+ * finished with them. An event whose id is lower than that of
+ * events already processed, because its transaction committed later, is still picked up by the next chunk.
+ * <p>
+ * The dispatcher assumes a single application instance tails the outbox.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxHandledEventRepository outboxHandledEventRepository;
+    // Looked up per chunk, handlers depend on services that write to the outbox and so on this dispatcher
+    private final ObjectProvider<OutboxEventHandler> handlers;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    @Value("${outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${outbox.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${outbox.retention:7d}")
+    private Duration retention;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        running = true;
+        dispatcher = Thread.ofVirtual().name("outbox-dispatcher").start(this::run);
+    }
+
+    /**
+     * Asks the dispatcher to look for new events now instead of at the next poll.
+     */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = new TransactionTemplate(transactionManager).execute(status -> {
+            outboxHandledEventRepository.deleteForEventsProcessedBefore(cutoff);
+            return outboxEventRepository.deleteProcessedBefore(cutoff);
+        });
+        log.info("Purged {} processed outbox events", deleted);
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(5000);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+                while (running && dispatchChunk() == chunkSize) {
+                    // keep going until the backlog is drained, events left for a retry wait for the next poll
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Outbox dispatch failed, retrying on the next poll", ex);
+            }
+        }
+    }
+
+    // Package-private for tests, called by the dispatcher thread only. Returns the number of events marked processed.
+    int dispatchChunk() {
+        List<OutboxEvent> events = outboxEventRepository.findByProcessedAtIsNullOrderById(Limit.of(chunkSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Long> eventIds = events.stream().map(OutboxEvent::getId).toList();
+        // Events a handler finished before a failure or restart stopped the chunk from being marked processed, and
+        // the failed attempts of the ones it is still retrying
+        Map<String, Map<Long, OutboxHandledEvent>> handled = outboxHandledEventRepository.findByEventIdIn(eventIds).stream()
+                .collect(Collectors.groupingBy(OutboxHandledEvent::getHandler,
+                        Collectors.toMap(OutboxHandledEvent::getEventId, Function.identity())));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Set<Long> unfinished = new HashSet<>();
+        handlers.orderedStream().forEach(handler -> unfinished.addAll(
+                dispatch(handler, events, handled.getOrDefault(handler.name(), Map.of()), transactionTemplate)));
+
+        List<Long> processed = eventIds.stream().filter(id -> !unfinished.contains(id)).toList();
+        if (!processed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markProcessed(processed, LocalDateTime.now()));
+        }
+        return processed.size();
+    }
+
+    // Returns the events the handler has yet to finish
+    private Set<Long> dispatch(OutboxEventHandler handler, List<OutboxEvent> events, Map<Long, OutboxHandledEvent> handled,
+                               TransactionTemplate transactionTemplate) {
+        List<OutboxEvent> pending = events.stream()
+                .filter(event -> !handled.containsKey(event.getId()) || handled.get(event.getId()).getCompletedAt() == null)
+                .toList();
+        if (pending.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                handler.handle(pending);
+                markHandled(handler, pending, handled);
+            });
+            return Set.of();
+        } catch (RuntimeException ex) {
+            log.warn("{} failed on a chunk of {} outbox events, handling them one by one", handler.name(), pending.size(), ex);
+        }
+        Set<Long> unfinished = new HashSet<>();
+        for (OutboxEvent event : pending) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    handler.handle(List.of(event));
+                    markHandled(handler, List.of(event), handled);
+                });
+            } catch (RuntimeException eventEx) {
+                if (!transactionTemplate.execute(status -> recordFailure(handler, event, handled.get(event.getId()), eventEx))) {
+                    unfinished.add(event.getId());
+                }
+            }
+        }
+        return unfinished;
+    }
+
+    private void markHandled(OutboxEventHandler handler, List<OutboxEvent> events, Map<Long, OutboxHandledEvent> handled) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxHandledEventRepository.saveAll(events.stream()
+                .map(event -> {
+                    // Events that failed before already have a row with their attempts
+                    OutboxHandledEvent row = handled.getOrDefault(event.getId(), new OutboxHandledEvent(event.getId(), handler.name()));
+                    row.setCompletedAt(now);
+                    return row;
+                })
+                .toList());
+    }
+
+    // Returns whether the handler is done with the event: transient errors are retried on the next polls up to
+    // maxAttempts, anything else gives up on the event at once
+    private boolean recordFailure(OutboxEventHandler handler, OutboxEvent event, OutboxHandledEvent previous, RuntimeException ex) {
+        OutboxHandledEvent row = previous != null ? previous : new OutboxHandledEvent(event.getId(), handler.name());
+        row.setAttempts(row.getAttempts() + 1);
+        boolean retry = isTransient(ex) && row.getAttempts() < maxAttempts;
+        if (retry) {
+            log.warn("{} failed on outbox event {}, attempt {} of {}, retrying on the next poll",
+                    handler.name(), event.getId(), row.getAttempts(), maxAttempts, ex);
+        } else {
+            log.error("{} skips outbox event {} of type {} after {} attempts",
+                    handler.name(), event.getId(), event.getType(), row.getAttempts(), ex);
+            markFailed(event.getId(), handler, ex);
+        }
+        // The row may carry the completion time of a chunk that was rolled back
+        row.setCompletedAt(retry ? null : LocalDateTime.now());
+        outboxHandledEventRepository.save(row);
+        return !retry;
+    }
+
+    // Lock conflicts, deadlocks and timeouts, ConcurrencyFailureException included
+    private static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void markFailed(Long eventId, OutboxEventHandler handler, RuntimeException ex) {
+        outboxEventRepository.findById(eventId).ifPresent(event -> {
+            String error = handler.name() + ": " + ex.getMessage();
+            String errors = event.getError() == null ? error : event.getError() + "; " + error;
+            event.setError(errors.length() > MAX_ERROR_LENGTH ? errors.substring(0, MAX_ERROR_LENGTH) : errors);
+        });
+    }
+}
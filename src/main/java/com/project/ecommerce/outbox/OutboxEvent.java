@@ -0,0 +1,56 @@
+package com.project.ecommerce.outbox;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to an order, written in the same transaction as the change itself and handed to the
+ * {@link OutboxEventHandler}s by the {@link OutboxDispatcher}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_processed_at", columnList = "processed_at, id"),
+        @Index(name = "idx_outbox_events_order_id", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    // Auto-increment ids, so bulk transitions can write their events with one INSERT ... SELECT
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OutboxEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 32)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 32)
+    private OrderStatus toStatus;
+
+    // Billing amount for created orders, paid amount for payments
+    private Double amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null until every handler has seen the event
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Set when a handler could not handle the event and skipped it, one "handler: reason" entry per handler
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.project.ecommerce.outbox;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reacts to order changes recorded in the outbox.
+ */
+public interface OutboxEventHandler {
+
+    /**
+     * Handles a chunk of events in ID order. Runs in a transaction of its own that also records which events the handler
+     * has finished, so the handler's writes and its progress commit together; a chunk that fails is retried event by
+     * event. An event that committed late can arrive after events with higher ids.
+     */
+    void handle(List<OutboxEvent> events);
+
+    /**
+     * Key under which the handler's progress is recorded, must stay stable across releases.
+     */
+    default String name() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.ecommerce.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByProcessedAtIsNullOrderById(Limit limit);
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.processedAt IS NULL")
+    List<Long> findUnprocessedIds();
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Events for bulk changes are written straight from the orders they touch
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events (order_id, type, from_status, to_status, amount, created_at) " +
+            "SELECT o.id, 'ORDER_CREATED', NULL, o.status, o.billing_amount, :createdAt FROM orders o WHERE o.id IN (:ids)",
+            nativeQuery = true)
+    int insertOrdersCreated(@Param("ids") Collection<Long> ids, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events (order_id, type, from_status, to_status, amount, created_at) " +
+            "SELECT o.id, 'ORDER_STATUS_CHANGED', :fromStatus, :toStatus, NULL, :createdAt FROM orders o WHERE o.id IN (:ids)",
+            nativeQuery = true)
+    int insertStatusChangesForIds(@Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus,
+                                  @Param("ids") Collection<Long> ids, @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,7 @@
+package com.project.ecommerce.outbox;
+
+public enum OutboxEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    PAYMENT_RECEIVED
+}
@@ -0,0 +1,72 @@
+package com.project.ecommerce.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One outbox event that one {@link OutboxEventHandler} has finished with, written in the handler's own transaction,
+ * or is still retrying after a transient failure.
+ * Events are tracked one by one rather than with a high-water mark, because event ids are handed out on insert and a
+ * lower id can commit after a higher one.
+ */
+@Entity
+@Table(name = "outbox_event_handlers")
+@IdClass(OutboxHandledEvent.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxHandledEvent implements Persistable<OutboxHandledEvent.Key> {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Id
+    @Column(length = 100)
+    private String handler;
+
+    // Failed attempts so far
+    @Column(nullable = false)
+    private int attempts;
+
+    // Null while a failed event is still retried
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Rows are only ever created by the dispatcher, so saving a new one inserts it without looking it up first
+    @Transient
+    private boolean isNew = true;
+
+    public OutboxHandledEvent(Long eventId, String handler) {
+        this.eventId = eventId;
+        this.handler = handler;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(eventId, handler);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long eventId;
+        private String handler;
+    }
+}
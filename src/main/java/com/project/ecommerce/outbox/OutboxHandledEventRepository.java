@@ -0,0 +1,25 @@
+package com.project.ecommerce.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxHandledEventRepository extends JpaRepository<OutboxHandledEvent, OutboxHandledEvent.Key> {
+
+    List<OutboxHandledEvent> findByEventIdIn(Collection<Long> eventIds);
+
+    @Modifying
+    @Query("DELETE FROM OutboxHandledEvent h WHERE h.handler = :handler")
+    int deleteByHandler(@Param("handler") String handler);
+
+    // Purged together with their events
+    @Modifying
+    @Query("DELETE FROM OutboxHandledEvent h WHERE h.eventId IN " +
+            "(SELECT e.id FROM OutboxEvent e WHERE e.processedAt < :cutoff)")
+    int deleteForEventsProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,94 @@
+package com.project.ecommerce.outbox;
+
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Records order changes in the outbox. Must be called inside the transaction that makes the change; the dispatcher
+ * is woken up once that transaction commits.
+ */
+@RequiredArgsConstructor
+@Service
+public class OutboxService {
+
+    private static final Object WAKE_UP_REGISTERED = new Object();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+
+    public void orderCreated(Order order) {
+        save(OutboxEvent.builder()
+                .orderId(order.getId())
+                .type(OutboxEventType.ORDER_CREATED)
+                .toStatus(order.getStatus())
+                .amount(order.getBillingAmount()));
+    }
+
+    public void ordersCreated(Collection<Long> orderIds) {
+        if (!orderIds.isEmpty()) {
+            outboxEventRepository.insertOrdersCreated(orderIds, LocalDateTime.now());
+            wakeUpAfterCommit();
+        }
+    }
+
+    public void statusChanged(Long orderId, OrderStatus fromStatus, OrderStatus toStatus) {
+        save(OutboxEvent.builder()
+                .orderId(orderId)
+                .type(OutboxEventType.ORDER_STATUS_CHANGED)
+                .fromStatus(fromStatus)
+                .toStatus(toStatus));
+    }
+
+    public void paymentReceived(Long orderId, double amount) {
+        save(OutboxEvent.builder()
+                .orderId(orderId)
+                .type(OutboxEventType.PAYMENT_RECEIVED)
+                .amount(amount));
+    }
+
+    /**
+     * Records the transition of the given orders, which the bulk update right before has moved from one status to the
+     * other while holding their row locks.
+     */
+    public void statusChangedForIds(Collection<Long> orderIds, OrderStatus fromStatus, OrderStatus toStatus) {
+        if (!orderIds.isEmpty()) {
+            outboxEventRepository.insertStatusChangesForIds(fromStatus.name(), toStatus.name(), orderIds, LocalDateTime.now());
+            wakeUpAfterCommit();
+        }
+    }
+
+    private void save(OutboxEvent.OutboxEventBuilder event) {
+        outboxEventRepository.save(event.createdAt(LocalDateTime.now()).build());
+        wakeUpAfterCommit();
+    }
+
+    // One wake-up per transaction, however many events it wrote
+    private void wakeUpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxDispatcher.wakeUp();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(WAKE_UP_REGISTERED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WAKE_UP_REGISTERED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WAKE_UP_REGISTERED);
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.ecommerce.payments.constants;
+
+public enum PaymentJobStatus {
+    QUEUED,
+    COMPLETED,
+    FAILED
+}
@@ -1,6 +1,7 @@
 package com.project.ecommerce.payments.controller;
 
 import com.project.ecommerce.payments.dto.PaymentRequestDTO;
+import com.project.ecommerce.payments.dto.PaymentStatusDTO;
 import com.project.ecommerce.payments.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,13 +17,25 @@ public class PaymentController {
     private final PaymentService paymentService;
 
     /**
-     * Process a new payment for the order.
+     * Accept a new payment for the order. The payment is processed asynchronously,
+     * poll its status with the returned reference ID.
      *
      * @param dto the order request payload containing payment details
-     * @return boolean with HTTP 201 status
+     * @return the queued payment's status with HTTP 202 status
      */
     @PostMapping
-    public ResponseEntity<Boolean> processPayment(@Valid @RequestBody PaymentRequestDTO dto) {
+    public ResponseEntity<PaymentStatusDTO> processPayment(@Valid @RequestBody PaymentRequestDTO dto) {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(paymentService.processPayment(dto));
     }
+
+    /**
+     * Get the processing status of a payment.
+     *
+     * @param referenceId the reference ID returned when the payment was accepted
+     * @return the payment's status with HTTP 200 status
+     */
+    @GetMapping("/{referenceId}")
+    public ResponseEntity<PaymentStatusDTO> getPaymentStatus(@PathVariable String referenceId) {
+        return ResponseEntity.ok(paymentService.getPaymentStatus(referenceId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.project.ecommerce.payments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payments of one order aggregated in the database, used by the scheduler to find orders that are ready to process.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPaymentSummaryDTO {
+    private Long orderId;
+    private Double billingAmount;
+    private Long codPayments;       // number of cash-on-delivery payments
+    private Double cardAmountPaid;  // sum of card payment amounts
+}
@@ -0,0 +1,19 @@
+package com.project.ecommerce.payments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusDTO {
+    private String referenceId;
+    private Long orderId;
+    private String status;          // QUEUED, COMPLETED or FAILED
+    private String message;         // failure reason, null otherwise
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
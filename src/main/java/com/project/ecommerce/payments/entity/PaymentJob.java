@@ -0,0 +1,53 @@
+package com.project.ecommerce.payments.entity;
+
+import com.project.ecommerce.payments.constants.PaymentJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A payment request accepted by the API and waiting for, or done with, asynchronous processing.
+ */
+@Entity
+@Table(name = "payment_jobs", indexes = {
+        @Index(name = "idx_payment_jobs_reference_id", columnList = "reference_id", unique = true),
+        @Index(name = "idx_payment_jobs_status_order", columnList = "status, order_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    private long version;
+
+    @Column(name = "reference_id", nullable = false, length = 36)
+    private String referenceId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    private String paymentType;
+
+    private Double amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentJobStatus status;
+
+    // Reason shown to the client when the job failed
+    private String message;
+
+    // Failed processing attempts, the job is marked FAILED once payments.max-attempts is reached
+    private int attempts;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,160 @@
+package com.project.ecommerce.payments.queue;
+
+import com.project.ecommerce.orders.cache.OrderReadCache;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.exceptionhandling.ResourceNotFoundException;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.outbox.OutboxService;
+import com.project.ecommerce.payments.constants.PaymentJobStatus;
+import com.project.ecommerce.payments.constants.PaymentStatus;
+import com.project.ecommerce.payments.constants.PaymentType;
+import com.project.ecommerce.payments.entity.Payment;
+import com.project.ecommerce.payments.entity.PaymentJob;
+import com.project.ecommerce.payments.repository.PaymentJobRepository;
+import com.project.ecommerce.payments.repository.PaymentRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applies queued payment jobs. A job is marked completed in the same transaction that records its payment,
+ * so a job is applied at most once even if the application stops half way.
+ * <p>
+ * A job that cannot be applied stays queued and blocks the later jobs of its order, which keeps payments in submission
+ * order. Every failed attempt is counted and the job is marked FAILED once {@code payments.max-attempts} is reached,
+ * or at once if its order does not exist, so the order's remaining jobs can proceed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PaymentJobProcessor {
+
+    private static final int MAX_PAYMENT_ATTEMPTS = 3;
+
+    private final PaymentJobRepository paymentJobRepository;
+    private final PaymentRepository paymentRepository;
+    private final OrderService orderService;
+    private final OrderReadCache orderReadCache;
+    private final OutboxService outboxService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${payments.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Processes every queued job of the order, oldest first. Stops at a job that has to be retried, the sweep
+     * signals the order again.
+     */
+    @Timed(value = "payments.processing", percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    public void processOrder(Long orderId) {
+        for (Long jobId : paymentJobRepository.findIdsByOrderIdAndStatus(orderId, PaymentJobStatus.QUEUED)) {
+            if (!process(jobId)) {
+                return;
+            }
+        }
+    }
+
+    // True once the job is completed or failed, false if it stays queued for another attempt
+    private boolean process(Long jobId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    PaymentJob job = paymentJobRepository.findById(jobId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Payment job not found with ID: " + jobId));
+                    if (job.getStatus() != PaymentJobStatus.QUEUED) {
+                        return;
+                    }
+                    applyPayment(job);
+                    job.setStatus(PaymentJobStatus.COMPLETED);
+                    job.setCompletedAt(LocalDateTime.now());
+                });
+                return true;
+            } catch (OptimisticLockingFailureException ex) {
+                // Another payment or status change updated the order first, retry against its new state
+                if (attempt == MAX_PAYMENT_ATTEMPTS) {
+                    return recordFailedAttempt(jobId, ex);
+                }
+            } catch (ResourceNotFoundException ex) {
+                // Nothing to retry, report the reason to the client
+                fail(jobId, ex.getMessage());
+                return true;
+            } catch (RuntimeException ex) {
+                return recordFailedAttempt(jobId, ex);
+            }
+        }
+    }
+
+    private void applyPayment(PaymentJob job) {
+        // Retrieve order by ID or throw if not found, its version guards the running total on commit
+        Order order = orderService.getOrderEntityById(job.getOrderId());
+        boolean pending = order.getStatus() == OrderStatus.PENDING;
+
+        if ("COD".equalsIgnoreCase(job.getPaymentType())) {
+            // If COD and order is pending, update to processing
+            if (pending) {
+                moveToProcessing(order);
+            }
+            return;
+        }
+
+        // For card or other payment types, add to the running total instead of summing earlier payments
+        double currentPaymentAmount = job.getAmount();
+        double newTotalPaid = order.getAmountPaid() + currentPaymentAmount;
+        boolean fullyPaid = newTotalPaid >= order.getBillingAmount();
+
+        // Save payment under the job's reference, the order update is flushed with it in the same transaction
+        Payment payment = new Payment();
+        payment.setOrder(order);
+        payment.setPaymentType(PaymentType.CARD_PAYMENT);
+        payment.setAmount(currentPaymentAmount);
+        payment.setPaymentStatus(fullyPaid ? PaymentStatus.Success : PaymentStatus.Partial);
+        payment.setReferenceId(job.getReferenceId());
+        paymentRepository.save(payment);
+        order.setAmountPaid(newTotalPaid);
+        outboxService.paymentReceived(order.getId(), currentPaymentAmount);
+
+        // Update order if fully paid
+        if (fullyPaid && pending) {
+            moveToProcessing(order);
+        }
+    }
+
+    private void moveToProcessing(Order order) {
+        outboxService.statusChanged(order.getId(), order.getStatus(), OrderStatus.PROCESSING);
+        order.setStatus(OrderStatus.PROCESSING);
+        orderReadCache.invalidateAfterCommit(order.getId());
+    }
+
+    private boolean recordFailedAttempt(Long jobId, RuntimeException cause) {
+        log.warn("Payment job {} could not be processed", jobId, cause);
+        PaymentJob failed = new TransactionTemplate(transactionManager).execute(status ->
+                paymentJobRepository.findById(jobId).map(job -> {
+                    job.setAttempts(job.getAttempts() + 1);
+                    if (job.getAttempts() >= maxAttempts) {
+                        job.setStatus(PaymentJobStatus.FAILED);
+                        job.setMessage("Payment could not be processed after " + job.getAttempts() + " attempts");
+                        job.setCompletedAt(LocalDateTime.now());
+                    }
+                    return job;
+                }).orElse(null));
+        return failed == null || failed.getStatus() != PaymentJobStatus.QUEUED;
+    }
+
+    private void fail(Long jobId, String message) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                paymentJobRepository.findById(jobId).ifPresent(job -> {
+                    job.setStatus(PaymentJobStatus.FAILED);
+                    job.setMessage(message);
+                    job.setCompletedAt(LocalDateTime.now());
+                }));
+    }
+}
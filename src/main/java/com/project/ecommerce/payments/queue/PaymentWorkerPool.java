@@ -0,0 +1,140 @@
+package com.project.ecommerce.payments.queue;
+
+import com.project.ecommerce.payments.constants.PaymentJobStatus;
+import com.project.ecommerce.payments.repository.PaymentJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed set of virtual-thread workers that process queued payment jobs.
+ * <p>
+ * Orders are partitioned over the workers by ID and each worker owns one bounded queue, so the jobs of an order
+ * are never processed concurrently and are applied in submission order. The queues only carry order IDs as
+ * wake-up signals; the {@code payment_jobs} table is the durable queue. A signal that does not fit into a full
+ * queue is dropped and the periodic sweep signals the order again, as it does for jobs left over from a restart.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PaymentWorkerPool {
+
+    private final PaymentJobProcessor paymentJobProcessor;
+    private final PaymentJobRepository paymentJobRepository;
+
+    // Orders with a signal waiting in a queue, so the sweep does not queue the same order twice
+    private final Set<Long> signalled = ConcurrentHashMap.newKeySet();
+    private final List<BlockingQueue<Long>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Value("${payments.workers:8}")
+    private int workerCount;
+
+    @Value("${payments.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${payments.sweep-chunk-size:1000}")
+    private int sweepChunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        int partitionCapacity = Math.max(1, queueCapacity / workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Long> queue = new ArrayBlockingQueue<>(partitionCapacity);
+            partitions.add(queue);
+            workers.add(Thread.ofVirtual().name("payment-worker-" + i).start(() -> work(queue)));
+        }
+        running = true;
+        log.info("Started {} payment workers", workerCount);
+
+        // Pick up jobs accepted before the last shutdown
+        sweep();
+    }
+
+    /**
+     * Signals the workers once the current transaction commits, so they never look for a job that is not visible yet.
+     */
+    public void submitAfterCommit(Long orderId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(orderId);
+                }
+            });
+        } else {
+            submit(orderId);
+        }
+    }
+
+    /**
+     * Signals every order that still has queued jobs, in chunks that fit the queues.
+     */
+    @Scheduled(fixedDelayString = "${payments.sweep-interval-ms:5000}", initialDelayString = "${payments.sweep-interval-ms:5000}")
+    public void sweep() {
+        if (!running) {
+            return;
+        }
+        List<Long> orderIds = paymentJobRepository.findOrderIdsByStatus(PaymentJobStatus.QUEUED, Limit.of(sweepChunkSize));
+        orderIds.forEach(this::submit);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(5000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void submit(Long orderId) {
+        if (!running || !signalled.add(orderId)) {
+            return;
+        }
+        if (!partitions.get(Math.floorMod(orderId.hashCode(), partitions.size())).offer(orderId)) {
+            // Queue is full, the job stays queued in the table until the next sweep
+            signalled.remove(orderId);
+        }
+    }
+
+    private void work(BlockingQueue<Long> queue) {
+        while (running) {
+            Long orderId;
+            try {
+                orderId = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+
+            // Clear the signal first, so jobs accepted while this order is processed signal it again
+            signalled.remove(orderId);
+            try {
+                paymentJobProcessor.processOrder(orderId);
+            } catch (RuntimeException ex) {
+                log.error("Payment processing failed for order {}, retrying on the next sweep", orderId, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.ecommerce.payments.repository;
+
+import com.project.ecommerce.payments.constants.PaymentJobStatus;
+import com.project.ecommerce.payments.entity.PaymentJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentJobRepository extends JpaRepository<PaymentJob, Long> {
+
+    Optional<PaymentJob> findByReferenceId(String referenceId);
+
+    // Jobs of one order in submission order, so payments are applied in the order they were accepted
+    @Query("SELECT j.id FROM PaymentJob j WHERE j.orderId = :orderId AND j.status = :status ORDER BY j.id")
+    List<Long> findIdsByOrderIdAndStatus(@Param("orderId") Long orderId, @Param("status") PaymentJobStatus status);
+
+    @Query("SELECT DISTINCT j.orderId FROM PaymentJob j WHERE j.status = :status ORDER BY j.orderId")
+    List<Long> findOrderIdsByStatus(@Param("status") PaymentJobStatus status, Limit limit);
+}
@@ -1,13 +1,30 @@
 package com.project.ecommerce.payments.repository;
 
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.payments.constants.PaymentType;
+import com.project.ecommerce.payments.dto.OrderPaymentSummaryDTO;
 import com.project.ecommerce.payments.entity.Payment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Payment findByOrder_Id(Long orderId);
 
-    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.order.id = :orderId AND p.paymentStatus = 'PARTIAL'")
-    double getSuccessfulPaymentsSumByOrderId(Long orderId);
+    // One row per order in the given status that has payments, keyset-paged on the order id
+    @Query("SELECT new com.project.ecommerce.payments.dto.OrderPaymentSummaryDTO(o.id, o.billingAmount, " +
+            "SUM(CASE WHEN p.paymentType = :cod THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.paymentType = :card THEN p.amount ELSE 0.0 END)) " +
+            "FROM Payment p JOIN p.order o " +
+            "WHERE o.status = :status AND o.id > :afterId " +
+            "GROUP BY o.id, o.billingAmount ORDER BY o.id")
+    List<OrderPaymentSummaryDTO> findPaymentSummaries(@Param("status") OrderStatus status,
+                                                      @Param("cod") PaymentType cod,
+                                                      @Param("card") PaymentType card,
+                                                      @Param("afterId") Long afterId,
+                                                      Limit limit);
 
 }
\ No newline at end of file
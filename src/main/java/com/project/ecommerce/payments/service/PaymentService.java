@@ -1,9 +1,12 @@
 package com.project.ecommerce.payments.service;
 
 import com.project.ecommerce.payments.dto.PaymentRequestDTO;
+import com.project.ecommerce.payments.dto.PaymentStatusDTO;
 import com.project.ecommerce.payments.entity.Payment;
 
 public interface PaymentService {
-    boolean processPayment(PaymentRequestDTO paymentRequestDTO);
+    PaymentStatusDTO processPayment(PaymentRequestDTO paymentRequestDTO);
+    PaymentStatusDTO getPaymentStatus(String referenceId);
     Payment getPaymentByOrderId(Long id);
+    int processPendingOrderPayments();
 }
@@ -1,69 +1,105 @@
 package com.project.ecommerce.payments.service;
 
 import com.project.ecommerce.orders.constants.OrderStatus;
-import com.project.ecommerce.orders.dto.OrderResponseDTO;
-import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.exceptionhandling.ResourceNotFoundException;
 import com.project.ecommerce.orders.mapper.OrderMapper;
 import com.project.ecommerce.orders.services.OrderService;
-import com.project.ecommerce.payments.constants.PaymentStatus;
+import com.project.ecommerce.payments.constants.PaymentJobStatus;
 import com.project.ecommerce.payments.constants.PaymentType;
+import com.project.ecommerce.payments.dto.OrderPaymentSummaryDTO;
 import com.project.ecommerce.payments.dto.PaymentRequestDTO;
+import com.project.ecommerce.payments.dto.PaymentStatusDTO;
 import com.project.ecommerce.payments.entity.Payment;
+import com.project.ecommerce.payments.entity.PaymentJob;
+import com.project.ecommerce.payments.queue.PaymentWorkerPool;
+import com.project.ecommerce.payments.repository.PaymentJobRepository;
 import com.project.ecommerce.payments.repository.PaymentRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 @Transactional
+@Timed(value = "payments.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class PaymentServiceImpl implements PaymentService{
     private final OrderService orderService;
     private final PaymentRepository paymentRepository;
     private final OrderMapper orderMapper;
+    private final PaymentJobRepository paymentJobRepository;
+    private final PaymentWorkerPool paymentWorkerPool;
+
+    @Value("${scheduler.chunk-size:1000}")
+    private int chunkSize;
 
     @Override
-    public boolean processPayment(PaymentRequestDTO paymentRequestDTO) {
+    public PaymentStatusDTO processPayment(PaymentRequestDTO paymentRequestDTO) {
+        // Persist the request as a queued job, the workers pick it up once this transaction commits
+        PaymentJob job = PaymentJob.builder()
+                .referenceId(UUID.randomUUID().toString())
+                .orderId(paymentRequestDTO.getOrderId())
+                .paymentType(paymentRequestDTO.getPaymentType())
+                .amount(paymentRequestDTO.getAmount())
+                .status(PaymentJobStatus.QUEUED)
+                .createdAt(LocalDateTime.now())
+                .build();
+        paymentJobRepository.save(job);
+        paymentWorkerPool.submitAfterCommit(job.getOrderId());
+        return toStatusDto(job);
+    }
 
-        // Retrieve order by ID or throw if not found
-        OrderResponseDTO currentOrder = orderService.getOrderById(paymentRequestDTO.getOrderId());
-        String paymentType = paymentRequestDTO.getPaymentType();
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentStatusDTO getPaymentStatus(String referenceId) {
+        PaymentJob job = paymentJobRepository.findByReferenceId(referenceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with reference ID: " + referenceId));
+        return toStatusDto(job);
+    }
 
-        if ("COD".equalsIgnoreCase(paymentType)) {
-            // If COD and order is pending, update to processing
-            if ("PENDING".equalsIgnoreCase(currentOrder.getStatus())) {
-                orderService.updateOrderStatus(currentOrder.getOrderId(), OrderStatus.PROCESSING);
-                return true;
-            }
-        } else {
-            // For card or other payment types
-            double currentPaymentAmount = paymentRequestDTO.getAmount();
-            double successfulPaymentsSum = paymentRepository.getSuccessfulPaymentsSumByOrderId(currentOrder.getOrderId());
-            double newTotalPaid = successfulPaymentsSum + currentPaymentAmount;
+    @Override
+    public Payment getPaymentByOrderId(Long id) {
+        return paymentRepository.findByOrder_Id(id);
+    }
 
-            // Save payment
-            Payment payment = new Payment();
-            Order order = orderService.getOrderEntityById(paymentRequestDTO.getOrderId());
-            payment.setOrder(order);
-            payment.setPaymentType(PaymentType.CARD_PAYMENT);
-            payment.setAmount(currentPaymentAmount);
-            payment.setPaymentStatus(newTotalPaid >= currentOrder.getBillingAmount() ? PaymentStatus.Success : PaymentStatus.Partial);
-            payment.setReferenceId(UUID.randomUUID().toString());
-            paymentRepository.save(payment);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int processPendingOrderPayments() {
+        int moved = 0;
+        long afterId = 0;
+        List<OrderPaymentSummaryDTO> chunk;
+        do {
+            // Aggregate payments of the next chunk of pending orders in a single query
+            chunk = paymentRepository.findPaymentSummaries(OrderStatus.PENDING, PaymentType.COD,
+                    PaymentType.CARD_PAYMENT, afterId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
 
-            // Update order if fully paid
-            if (newTotalPaid >= currentOrder.getBillingAmount()) {
-                orderService.updateOrderStatus(currentOrder.getOrderId(), OrderStatus.PROCESSING);
-                return true;
+            // COD orders and fully paid card orders are ready for processing
+            List<Long> readyIds = chunk.stream()
+                    .filter(summary -> summary.getCodPayments() > 0
+                            || summary.getCardAmountPaid() >= summary.getBillingAmount())
+                    .map(OrderPaymentSummaryDTO::getOrderId)
+                    .collect(Collectors.toList());
+            if (!readyIds.isEmpty()) {
+                moved += orderService.transitionOrders(readyIds, OrderStatus.PENDING, OrderStatus.PROCESSING);
             }
-        }
-        return true;
+            afterId = chunk.get(chunk.size() - 1).getOrderId();
+        } while (chunk.size() == chunkSize);
+        return moved;
     }
 
-    @Override
-    public Payment getPaymentByOrderId(Long id) {
-        return paymentRepository.findByOrder_Id(id);
+    private PaymentStatusDTO toStatusDto(PaymentJob job) {
+        return new PaymentStatusDTO(job.getReferenceId(), job.getOrderId(), job.getStatus().name(),
+                job.getMessage(), job.getCreatedAt(), job.getCompletedAt());
     }
 }
@@ -0,0 +1,40 @@
+package com.project.ecommerce.products.cache;
+
+import com.project.ecommerce.products.entities.Product;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * JPA entity listener that evicts changed products from the catalog cache.
+ * The entry is evicted again after commit, so a read racing with the transaction cannot leave the old row cached.
+ * The catalog is looked up lazily because Hibernate creates this listener while the repositories are still being built.
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductCacheInvalidator {
+
+    private final ObjectProvider<ProductCatalog> productCatalog;
+
+    @PostUpdate
+    @PostRemove
+    public void onProductChange(Product product) {
+        ProductCatalog catalog = productCatalog.getObject();
+        List<Long> productIds = List.of(product.getId());
+        catalog.evict(productIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalog.evict(productIds);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.ecommerce.products.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import com.project.ecommerce.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of product catalog data (name and price).
+ * Misses are loaded from the database in one query, entries expire after a TTL and are evicted on product writes.
+ */
+@RequiredArgsConstructor
+@Service
+public class ProductCatalog {
+
+    public static final String CACHE_NAME = "products";
+
+    private final CacheManager cacheManager;
+    private final ProductRepository productRepository;
+
+    /**
+     * @param productIds the products to look up
+     * @return catalog data keyed by product ID, products that do not exist are absent from the map
+     */
+    public Map<Long, ProductInfoDTO> getProducts(Collection<Long> productIds) {
+        return cache().getAll(productIds, missing -> productRepository.findInfoByIdIn(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(ProductInfoDTO::getId, Function.identity())));
+    }
+
+    /**
+     * @return catalog data of every product, ordered by ID
+     */
+    public List<ProductInfoDTO> getAllProducts() {
+        Map<Long, ProductInfoDTO> products = getProducts(productRepository.findAllIds());
+        return products.values().stream()
+                .sorted(Comparator.comparing(ProductInfoDTO::getId))
+                .collect(Collectors.toList());
+    }
+
+    public void evict(Collection<Long> productIds) {
+        cache().invalidateAll(productIds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Long, ProductInfoDTO> cache() {
+        return (Cache<Long, ProductInfoDTO>) cacheManager.getCache(CACHE_NAME).getNativeCache();
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.ecommerce.products.controller;
+
+import com.project.ecommerce.products.dto.ProductImportReportDTO;
+import com.project.ecommerce.products.dto.ProductViewDTO;
+import com.project.ecommerce.products.importer.ProductImportService;
+import com.project.ecommerce.products.search.ProductSearchIndex;
+import com.project.ecommerce.products.search.ProductSearchScore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.List;
+
+/**
+ * REST controller for product search and bulk import.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductImportService productImportService;
+
+    /**
+     * Typeahead product search. Every word of the query matches the start of a word in the product name,
+     * e.g. "wi mou" finds "Wireless Mouse". Served from an in-memory index, the database is not queried.
+     *
+     * @param q the words typed so far
+     * @param score (optional) rank by STOCK or PRICE, highest first; defaults to products.search.default-score
+     * @param limit the maximum number of products to return, at most 100
+     * @return the best matching products with HTTP 200
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductViewDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) ProductSearchScore score,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productSearchIndex.search(q, score, limit));
+    }
+
+    /**
+     * Creates and updates products and adjusts their stock from a CSV file with the columns
+     * id (optional), name, price and stock_delta. The body is read as a stream and written in batches,
+     * so files with millions of rows can be sent as they are.
+     *
+     * @param body the CSV request body
+     * @return imported and failed row counts, and the failed rows with their line and reason, with HTTP 200
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductImportReportDTO> importProducts(InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importCsv(Channels.newChannel(body)));
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportErrorDTO {
+    private long line;
+    private String message;
+}
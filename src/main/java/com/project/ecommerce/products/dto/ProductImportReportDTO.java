@@ -0,0 +1,19 @@
+package com.project.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportReportDTO {
+    private long rows;
+    private long imported;
+    private long failed;
+    private List<ProductImportErrorDTO> errors;     // the first failed rows, up to products.import.max-reported-errors
+    private boolean errorsTruncated;                // more rows failed than are listed in errors
+    private long durationMs;
+}
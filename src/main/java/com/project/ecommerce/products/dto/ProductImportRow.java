@@ -0,0 +1,19 @@
+package com.project.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One validated line of a product import file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRow {
+    private long line;          // line of the file the row starts on, for the error report
+    private Long id;            // null for a new product
+    private String name;
+    private double price;
+    private int stockDelta;     // added to the available quantity, the initial quantity of a new product
+}
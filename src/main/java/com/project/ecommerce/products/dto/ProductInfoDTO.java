@@ -0,0 +1,14 @@
+package com.project.ecommerce.products.dto;
+
+import lombok.Value;
+
+/**
+ * Catalog data of a product as held by the product cache.
+ * Stock is deliberately left out, it changes with every order and is owned by the inventory engine.
+ */
+@Value
+public class ProductInfoDTO {
+    Long id;
+    String name;
+    double price;
+}
@@ -0,0 +1,18 @@
+package com.project.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product columns held by the search index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchRow {
+    private Long id;
+    private String name;
+    private Double price;
+    private Integer availableQuantity;
+}
@@ -0,0 +1,15 @@
+package com.project.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductViewDTO {
+    private Long id;
+    private String name;
+    private double price;
+    private Integer availableQuantity;  // live reservable stock, null if unknown
+}
@@ -1,6 +1,8 @@
 package com.project.ecommerce.products.entities;
 
 import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.products.cache.ProductCacheInvalidator;
+import com.project.ecommerce.products.search.ProductSearchIndexer;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "products")
+@EntityListeners({ProductCacheInvalidator.class, ProductSearchIndexer.class})
 @Getter
 @Setter
 @NoArgsConstructor
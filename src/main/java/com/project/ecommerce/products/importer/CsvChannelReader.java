@@ -0,0 +1,151 @@
+package com.project.ecommerce.products.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming CSV reader over a byte channel (RFC 4180: comma separated, double quoted fields, "" escapes a quote).
+ * <p>
+ * Bytes are read through one fixed direct buffer and a field is decoded only once it is complete, so memory use does
+ * not depend on the size of the input. Fields are decoded as UTF-8. A field longer than {@link #MAX_FIELD_LENGTH}
+ * bytes is cut and the record is flagged, so a runaway quote cannot grow the heap either.
+ */
+public class CsvChannelReader {
+
+    public static final int MAX_FIELD_LENGTH = 64 * 1024;
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private boolean fieldTooLong;
+    private boolean quoteOpen;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvChannelReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvChannelReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.flip();
+    }
+
+    /**
+     * Reads the next record. A blank line is returned as a record with one empty field.
+     *
+     * @param fields cleared and filled with the fields of the record
+     * @return false once the input is exhausted
+     */
+    public boolean next(List<String> fields) throws IOException {
+        fields.clear();
+        fieldLength = 0;
+        fieldTooLong = false;
+        quoteOpen = false;
+        recordLine = line;
+
+        int b = read();
+        if (b < 0) {
+            return false;
+        }
+        for (; b >= 0; b = read()) {
+            if (quoteOpen) {
+                if (b != '"') {
+                    if (b == '\n') {
+                        line++;
+                    }
+                    append(b);
+                } else if (peek() == '"') {
+                    read();
+                    append('"');
+                } else {
+                    quoteOpen = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> quoteOpen = true;
+                case ',' -> fields.add(takeField());
+                case '\r' -> {
+                    // CRLF line endings, a stray carriage return outside quotes is dropped as well
+                }
+                case '\n' -> {
+                    line++;
+                    fields.add(takeField());
+                    return true;
+                }
+                default -> append(b);
+            }
+        }
+        fields.add(takeField());
+        return true;
+    }
+
+    /**
+     * @return the line the last record started on, 1 for the first line of the input
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * @return why the last record could not be read completely, or null if it is intact
+     */
+    public String recordError() {
+        if (quoteOpen) {
+            return "Quoted field is not closed before the end of the file";
+        }
+        if (fieldTooLong) {
+            return "Field is longer than " + MAX_FIELD_LENGTH + " bytes";
+        }
+        return null;
+    }
+
+    private void append(int b) {
+        if (fieldLength == MAX_FIELD_LENGTH) {
+            fieldTooLong = true;
+            return;
+        }
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, Math.min(field.length * 2, MAX_FIELD_LENGTH));
+        }
+        field[fieldLength++] = (byte) b;
+    }
+
+    private String takeField() {
+        String value = new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        fieldLength = 0;
+        return value;
+    }
+
+    private int read() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read > 0;
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.ecommerce.products.importer;
+
+import com.project.ecommerce.products.dto.ProductImportErrorDTO;
+import com.project.ecommerce.products.dto.ProductImportReportDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Command line product import, e.g.
+ * {@code java -jar ecommerce.jar --products.import.file=catalog.csv --spring.main.web-application-type=none}.
+ * Imports the file, logs the report and exits with status 1 if any row was rejected. The runner is the
+ * {@link ExitCodeGenerator} for that status, the application closes itself with {@code SpringApplication.exit}
+ * once startup has returned.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty("products.import.file")
+public class ProductImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private final ProductImportService productImportService;
+
+    @Value("${products.import.file}")
+    private Path file;
+
+    private volatile int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ProductImportReportDTO report;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            report = productImportService.importCsv(channel);
+        }
+        for (ProductImportErrorDTO error : report.getErrors()) {
+            log.warn("{} line {}: {}", file, error.getLine(), error.getMessage());
+        }
+        if (report.isErrorsTruncated()) {
+            log.warn("{} more rejected rows are not listed", report.getFailed() - report.getErrors().size());
+        }
+        exitCode = report.getFailed() == 0 ? 0 : 1;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
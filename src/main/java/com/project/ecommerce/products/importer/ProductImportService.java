@@ -0,0 +1,238 @@
+package com.project.ecommerce.products.importer;
+
+import com.project.ecommerce.orders.exceptionhandling.InvalidImportFileException;
+import com.project.ecommerce.products.cache.ProductCatalog;
+import com.project.ecommerce.products.dto.ProductImportErrorDTO;
+import com.project.ecommerce.products.dto.ProductImportReportDTO;
+import com.project.ecommerce.products.dto.ProductImportRow;
+import com.project.ecommerce.products.inventory.InventoryService;
+import com.project.ecommerce.products.repository.ProductRepository;
+import com.project.ecommerce.products.search.ProductSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Imports products and stock changes from CSV.
+ * <p>
+ * The file needs a header with the columns {@code name}, {@code price} and {@code stock_delta}, plus an optional
+ * {@code id}. A row with an ID updates that product (or creates it with that ID) and adds the delta to its stock,
+ * a row without one creates a new product with the delta as its stock. Stock changes go through the inventory
+ * counters, so a negative delta that would take stock that orders have reserved is rejected. The file is parsed as a stream and written in
+ * batches, each batch in its own transaction, so memory use stays flat whatever the file size. Invalid rows are
+ * skipped and reported with their line number; rows already written stay written.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ProductImportService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final InventoryService inventoryService;
+    private final ProductSearchIndex productSearchIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${products.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${products.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * @param csv the import file, read once to its end
+     * @return counts of imported and failed rows and the first failed rows with their reason
+     * @throws InvalidImportFileException if the file is empty or its header lacks a required column
+     */
+    public ProductImportReportDTO importCsv(ReadableByteChannel csv) throws IOException {
+        long started = System.nanoTime();
+        CsvChannelReader reader = new CsvChannelReader(csv);
+        List<String> fields = new ArrayList<>();
+        if (!reader.next(fields)) {
+            throw new InvalidImportFileException("Import file is empty");
+        }
+        Columns columns = Columns.of(fields);
+
+        ImportRun run = new ImportRun();
+        List<ProductImportRow> batch = new ArrayList<>(batchSize);
+        while (reader.next(fields)) {
+            if (fields.size() == 1 && fields.getFirst().isBlank()) {
+                continue;
+            }
+            run.rows++;
+            String error = reader.recordError();
+            if (error != null) {
+                run.reject(reader.recordLine(), error);
+                continue;
+            }
+            try {
+                batch.add(columns.parse(reader.recordLine(), fields));
+            } catch (IllegalArgumentException ex) {
+                run.reject(reader.recordLine(), ex.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                write(batch, run);
+            }
+        }
+        write(batch, run);
+
+        // Generated IDs and absolute stock are only known to the database, so the search index is rebuilt from it.
+        // A rebuild that is already running is not restarted, the scheduled one picks up what it missed.
+        if (run.imported > 0) {
+            Thread.ofVirtual().name("product-search-rebuild").start(productSearchIndex::rebuild);
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Product import read {} rows, imported {}, rejected {} in {} ms", run.rows, run.imported, run.failed, durationMs);
+        return new ProductImportReportDTO(run.rows, run.imported, run.failed, run.errors, run.failed > run.errors.size(), durationMs);
+    }
+
+    private void write(List<ProductImportRow> batch, ImportRun run) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            written(batch, transactionTemplate.execute(status -> importProducts(batch)), run);
+        } catch (DataAccessException ex) {
+            // The batch was rolled back, write it again row by row to find the rows the database refuses
+            for (ProductImportRow row : batch) {
+                try {
+                    written(List.of(row), transactionTemplate.execute(status -> importProducts(List.of(row))), run);
+                } catch (DataAccessException rowEx) {
+                    run.reject(row.getLine(), "Row could not be saved: " + rowEx.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    // Runs in the batch transaction, the counters give back the decreases they took if it rolls back
+    private List<ProductImportRow> importProducts(List<ProductImportRow> rows) {
+        List<ProductImportRow> rejected = inventoryService.applyImport(rows);
+        productRepository.importProducts(rejected.isEmpty() ? rows : rows.stream().filter(row -> !rejected.contains(row)).toList());
+        return rejected;
+    }
+
+    private void written(List<ProductImportRow> rows, List<ProductImportRow> rejected, ImportRun run) {
+        for (ProductImportRow row : rejected) {
+            run.reject(row.getLine(), "stock_delta " + row.getStockDelta() + " would take stock of product "
+                    + row.getId() + " that orders have reserved, or the product does not exist");
+        }
+        run.imported += rows.size() - rejected.size();
+
+        // Existing products: drop the cached name and price, they are read again from the committed rows when next used
+        List<Long> productIds = rows.stream()
+                .map(ProductImportRow::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (!productIds.isEmpty()) {
+            productCatalog.evict(productIds);
+        }
+    }
+
+    private final class ImportRun {
+        private long rows;
+        private long imported;
+        private long failed;
+        private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+
+        private void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportErrorDTO(line, message));
+            }
+        }
+    }
+
+    // Field positions of the columns, id is -1 when the file has no id column
+    private record Columns(int id, int name, int price, int stockDelta, int width) {
+
+        static Columns of(List<String> header) {
+            int id = -1, name = -1, price = -1, stockDelta = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                switch (column) {
+                    case "id" -> id = i;
+                    case "name" -> name = i;
+                    case "price" -> price = i;
+                    case "stock_delta" -> stockDelta = i;
+                    default -> {
+                        // other columns are ignored
+                    }
+                }
+            }
+            if (name < 0 || price < 0 || stockDelta < 0) {
+                throw new InvalidImportFileException("Import file header must contain the columns name, price and stock_delta, found: " + header);
+            }
+            int width = Math.max(Math.max(id, name), Math.max(price, stockDelta)) + 1;
+            return new Columns(id, name, price, stockDelta, width);
+        }
+
+        ProductImportRow parse(long line, List<String> fields) {
+            if (fields.size() < width) {
+                throw new IllegalArgumentException("Expected at least " + width + " fields but found " + fields.size());
+            }
+            String idValue = id >= 0 ? fields.get(id).trim() : "";
+            Long productId = null;
+            if (!idValue.isEmpty()) {
+                productId = parseLong(idValue, "id");
+                if (productId <= 0) {
+                    throw new IllegalArgumentException("id must be positive: " + idValue);
+                }
+            }
+
+            String productName = fields.get(name).trim();
+            if (productName.isEmpty()) {
+                throw new IllegalArgumentException("name is required");
+            }
+            if (productName.length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("name is longer than " + MAX_NAME_LENGTH + " characters");
+            }
+
+            String priceValue = fields.get(price).trim();
+            double productPrice;
+            try {
+                productPrice = Double.parseDouble(priceValue);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("price is not a number: " + priceValue);
+            }
+            if (!Double.isFinite(productPrice) || productPrice < 0) {
+                throw new IllegalArgumentException("price must be zero or positive: " + priceValue);
+            }
+
+            String deltaValue = fields.get(stockDelta).trim();
+            long delta = deltaValue.isEmpty() ? 0 : parseLong(deltaValue, "stock_delta");
+            if (delta < Integer.MIN_VALUE || delta > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("stock_delta is out of range: " + deltaValue);
+            }
+            if (productId == null && delta < 0) {
+                throw new IllegalArgumentException("stock_delta of a new product cannot be negative: " + delta);
+            }
+            return new ProductImportRow(line, productId, productName, productPrice, (int) delta);
+        }
+
+        private static long parseLong(String value, String column) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(column + " is not a whole number: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.ecommerce.products.inventory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free in-memory stock counters, one per product.
+ * Reservations take stock with compare-and-set, so concurrent checkouts never block each other
+ * and a counter can never drop below zero.
+ */
+public class InventoryEngine {
+
+    private final Map<Long, AtomicInteger> stock = new ConcurrentHashMap<>();
+
+    /**
+     * Starts tracking a product. A product that is already tracked keeps its current counter.
+     *
+     * @param productId the product ID
+     * @param available the quantity that can still be reserved
+     */
+    public void seed(long productId, int available) {
+        stock.putIfAbsent(productId, new AtomicInteger(available));
+    }
+
+    public boolean isTracked(long productId) {
+        return stock.containsKey(productId);
+    }
+
+    /**
+     * @param productId the product ID
+     * @return the quantity that can still be reserved, or null if the product is not tracked
+     */
+    public Integer available(long productId) {
+        AtomicInteger counter = stock.get(productId);
+        return counter != null ? counter.get() : null;
+    }
+
+    /**
+     * Reserves all requested quantities or none of them.
+     *
+     * @param quantities requested quantity per product ID, every product must be tracked
+     * @return null when everything was reserved, otherwise the ID of the first product that fell short
+     * @throws IllegalStateException if a product is not tracked, nothing is reserved then
+     */
+    public Long reserve(Map<Long, Integer> quantities) {
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        Collections.sort(productIds);
+        for (int i = 0; i < productIds.size(); i++) {
+            Long productId = productIds.get(i);
+            AtomicInteger counter = stock.get(productId);
+            if (counter == null || !tryTake(counter, quantities.get(productId))) {
+                // Give back what this reservation already took
+                for (int j = 0; j < i; j++) {
+                    adjust(productIds.get(j), quantities.get(productIds.get(j)));
+                }
+                if (counter == null) {
+                    throw new IllegalStateException("Product is not tracked by the inventory engine: " + productId);
+                }
+                return productId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gives back reserved stock.
+     */
+    public void release(Map<Long, Integer> quantities) {
+        quantities.forEach(this::adjust);
+    }
+
+    /**
+     * Applies a stock correction, such as a restock or a write-off, to a tracked product. A decrease is taken with
+     * compare-and-set like a reservation, so it never takes stock that orders have already reserved.
+     *
+     * @return false if the product is not tracked or cannot cover the decrease, nothing is changed then
+     */
+    public boolean tryAdjust(long productId, int delta) {
+        AtomicInteger counter = stock.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        if (delta >= 0) {
+            counter.addAndGet(delta);
+            return true;
+        }
+        return tryTake(counter, -delta);
+    }
+
+    private void adjust(long productId, int delta) {
+        AtomicInteger counter = stock.get(productId);
+        if (counter != null) {
+            counter.addAndGet(delta);
+        }
+    }
+
+    private static boolean tryTake(AtomicInteger counter, int quantity) {
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        return true;
+    }
+}
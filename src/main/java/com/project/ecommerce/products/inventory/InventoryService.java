@@ -0,0 +1,205 @@
+package com.project.ecommerce.products.inventory;
+
+import com.project.ecommerce.orders.exceptionhandling.InsufficientStockException;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.products.dto.ProductImportRow;
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import com.project.ecommerce.products.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves stock in memory and writes it back to the products table in the background.
+ * <p>
+ * Orders are saved with {@code stockPending = true}. The flush job sums the items of those orders per product,
+ * applies the totals as one JDBC batch and clears the flag in the same transaction, so the pending orders are
+ * the durable record of every reservation that has not reached the products table yet. After a restart a
+ * product's counter is seeded as its persisted quantity minus the items of its pending orders. Stock that is
+ * written outside orders, such as by an import, is applied to the counters too instead of dropping them, so a
+ * counter always reflects every reservation that is still in flight.
+ * <p>
+ * The counters are local to this process, so the service assumes a single application instance writes orders.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class InventoryService {
+
+    private final InventoryEngine engine = new InventoryEngine();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${inventory.flush-chunk-size:500}")
+    private int flushChunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Object[]> rows = productRepository.findAllReservableStock();
+        seed(rows);
+        log.info("Inventory engine seeded with {} products", rows.size());
+    }
+
+    /**
+     * Reserves stock for an order. If the surrounding transaction does not commit, the reservation is released.
+     *
+     * @param quantities requested quantity per product ID
+     * @param products catalog data of the order's products, used for error messages
+     * @throws InsufficientStockException if any product cannot cover its quantity, nothing is reserved then
+     */
+    public void reserve(Map<Long, Integer> quantities, Map<Long, ProductInfoDTO> products) {
+        ensureTracked(quantities.keySet());
+        Long shortProductId = engine.reserve(quantities);
+        if (shortProductId != null) {
+            throw new InsufficientStockException("Insufficient stock for product: " + products.get(shortProductId).getName());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        engine.release(quantities);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the quantity that can still be reserved, or null if the product has not been used yet
+     */
+    public Integer available(Long productId) {
+        return engine.available(productId);
+    }
+
+    /**
+     * Applies the stock changes of imported rows to the counters, to be called in the transaction that writes them.
+     * Decreases are taken right away and rejected if they would cut into stock that orders have reserved, an
+     * increase in the same batch covers a decrease of the same product first. Increases reach the counters once
+     * the transaction commits, so no order can reserve stock that is rolled back; if it does not commit, the
+     * decreases are given back.
+     *
+     * @param rows validated import rows
+     * @return the rows with a negative delta that must not be written, including those of products that do not exist
+     */
+    public List<ProductImportRow> applyImport(List<ProductImportRow> rows) {
+        ensureTracked(rows.stream().map(ProductImportRow::getId).filter(Objects::nonNull).distinct().toList());
+
+        // Only counters that exist now get the increases, a product seeded later reads them from the committed row
+        Map<Long, Integer> increases = new HashMap<>();
+        for (ProductImportRow row : rows) {
+            if (row.getId() != null && row.getStockDelta() > 0 && engine.isTracked(row.getId())) {
+                increases.merge(row.getId(), row.getStockDelta(), Integer::sum);
+            }
+        }
+
+        Map<Long, Integer> taken = new HashMap<>();
+        List<ProductImportRow> rejected = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            if (row.getId() == null || row.getStockDelta() >= 0) {
+                continue;
+            }
+            Long productId = row.getId();
+            int fromIncreases = Math.min(-row.getStockDelta(), increases.getOrDefault(productId, 0));
+            int fromCounter = -row.getStockDelta() - fromIncreases;
+            if (!engine.isTracked(productId) || (fromCounter > 0 && !engine.tryAdjust(productId, -fromCounter))) {
+                rejected.add(row);
+                continue;
+            }
+            increases.merge(productId, -fromIncreases, Integer::sum);
+            if (fromCounter > 0) {
+                taken.merge(productId, fromCounter, Integer::sum);
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        increases.forEach(engine::tryAdjust);
+                    } else {
+                        engine.release(taken);
+                    }
+                }
+            });
+        } else {
+            increases.forEach(engine::tryAdjust);
+        }
+        return rejected;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            int flushed;
+            do {
+                flushed = transactionTemplate.execute(status -> flushChunk());
+            } while (flushed == flushChunkSize);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending inventory reservations before shutdown");
+        flush();
+    }
+
+    private int flushChunk() {
+        List<Long> orderIds = orderRepository.findStockPendingIds(Limit.of(flushChunkSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        // Aggregate the reserved quantities of these orders per product and write them back as one batch
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Object[] row : orderRepository.sumQuantitiesByProduct(orderIds)) {
+            deltas.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        productRepository.applyStockDeltas(deltas);
+        orderRepository.clearStockPending(orderIds);
+        return orderIds.size();
+    }
+
+    private void ensureTracked(Collection<Long> productIds) {
+        List<Long> untracked = productIds.stream()
+                .filter(productId -> !engine.isTracked(productId))
+                .collect(Collectors.toList());
+        if (!untracked.isEmpty()) {
+            seed(productRepository.findReservableStock(untracked));
+        }
+    }
+
+    private void seed(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            engine.seed((Long) row[0], ((Number) row[1]).intValue());
+        }
+    }
+}
@@ -1,10 +1,38 @@
 package com.project.ecommerce.products.repository;
 
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import com.project.ecommerce.products.dto.ProductSearchRow;
 import com.project.ecommerce.products.entities.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    // You can add custom query methods here if needed
-}
\ No newline at end of file
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
+
+    @Query("SELECT new com.project.ecommerce.products.dto.ProductInfoDTO(p.id, p.name, p.price) FROM Product p WHERE p.id IN :ids")
+    List<ProductInfoDTO> findInfoByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Product p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    // Search index build, read in id-ordered chunks so a large catalog is never held as entities
+    @Query("SELECT new com.project.ecommerce.products.dto.ProductSearchRow(p.id, p.name, p.price, p.availableQuantity) " +
+            "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductSearchRow> findSearchRows(@Param("afterId") Long afterId, Limit limit);
+
+    // Reservable stock per product: persisted quantity minus the items of orders not yet written back.
+    // Both are read in one statement so a concurrent inventory flush cannot be counted twice.
+    @Query("SELECT p.id, p.availableQuantity - COALESCE((SELECT SUM(i.quantity) FROM OrderItem i " +
+            "WHERE i.product = p AND i.order.stockPending = true), 0) FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findReservableStock(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.availableQuantity - COALESCE((SELECT SUM(i.quantity) FROM OrderItem i " +
+            "WHERE i.product = p AND i.order.stockPending = true), 0) FROM Product p")
+    List<Object[]> findAllReservableStock();
+}
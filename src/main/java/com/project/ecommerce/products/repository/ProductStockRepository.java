@@ -0,0 +1,28 @@
+package com.project.ecommerce.products.repository;
+
+import com.project.ecommerce.products.dto.ProductImportRow;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository fragment for stock updates that are issued as plain JDBC batches.
+ */
+public interface ProductStockRepository {
+
+    /**
+     * Subtracts the given quantities from the available quantity of every product in a single JDBC batch.
+     *
+     * @param quantities quantity to subtract per product ID
+     */
+    void applyStockDeltas(Map<Long, Integer> quantities);
+
+    /**
+     * Writes imported rows as JDBC batches. Rows with an ID update that product: the name and price are replaced and
+     * the stock delta is added to the available quantity, or the product is created with that ID. Rows without an ID
+     * are inserted as new products. Negative deltas are applied as they are, the inventory has checked them already.
+     *
+     * @param rows validated import rows
+     */
+    void importProducts(List<ProductImportRow> rows);
+}
@@ -0,0 +1,106 @@
+package com.project.ecommerce.products.repository;
+
+import com.project.ecommerce.products.dto.ProductImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String APPLY_STOCK_DELTA_SQL =
+            "UPDATE products SET available_quantity = available_quantity - ? WHERE id = ?";
+
+    // Existing products first, the rows that update nothing are inserted with their ID afterwards
+    private static final String UPDATE_PRODUCT_SQL =
+            "UPDATE products SET name = ?, price = ?, available_quantity = available_quantity + ? WHERE id = ?";
+
+    private static final String INSERT_PRODUCT_WITH_ID_SQL =
+            "INSERT INTO products (id, name, price, available_quantity) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (name, price, available_quantity) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void applyStockDeltas(Map<Long, Integer> quantities) {
+        // Update rows in ID order so concurrent writers always lock products in the same sequence
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+
+        jdbcTemplate.batchUpdate(APPLY_STOCK_DELTA_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    @Override
+    public void importProducts(List<ProductImportRow> rows) {
+        // Existing products are locked in ID order as well, the sort is stable so repeated IDs keep their file order
+        List<ProductImportRow> updates = rows.stream()
+                .filter(row -> row.getId() != null)
+                .sorted(Comparator.comparing(ProductImportRow::getId))
+                .toList();
+        List<ProductImportRow> inserts = rows.stream()
+                .filter(row -> row.getId() == null)
+                .toList();
+
+        if (!updates.isEmpty()) {
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_PRODUCT_SQL, updates, updates.size(), this::setUpdateValues);
+            // A new ID is created by its first row, the rows repeating it update the product just created
+            Set<Long> created = new HashSet<>();
+            List<ProductImportRow> missing = new ArrayList<>();
+            List<ProductImportRow> repeated = new ArrayList<>();
+            for (int i = 0; i < updates.size(); i++) {
+                if (counts[0][i] == 0) {
+                    ProductImportRow row = updates.get(i);
+                    (created.add(row.getId()) ? missing : repeated).add(row);
+                }
+            }
+            if (!missing.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT_WITH_ID_SQL, missing, missing.size(), (ps, row) -> {
+                    ps.setLong(1, row.getId());
+                    ps.setString(2, row.getName());
+                    ps.setDouble(3, row.getPrice());
+                    ps.setInt(4, row.getStockDelta());
+                });
+            }
+            if (!repeated.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_PRODUCT_SQL, repeated, repeated.size(), this::setUpdateValues);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, inserts, inserts.size(), (ps, row) -> {
+                ps.setString(1, row.getName());
+                ps.setDouble(2, row.getPrice());
+                ps.setInt(3, row.getStockDelta());
+            });
+        }
+    }
+
+    private void setUpdateValues(PreparedStatement ps, ProductImportRow row) throws SQLException {
+        ps.setString(1, row.getName());
+        ps.setDouble(2, row.getPrice());
+        ps.setInt(3, row.getStockDelta());
+        ps.setLong(4, row.getId());
+    }
+}
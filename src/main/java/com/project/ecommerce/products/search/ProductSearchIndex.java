@@ -0,0 +1,144 @@
+package com.project.ecommerce.products.search;
+
+import com.project.ecommerce.products.dto.ProductSearchRow;
+import com.project.ecommerce.products.dto.ProductViewDTO;
+import com.project.ecommerce.products.inventory.InventoryService;
+import com.project.ecommerce.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typeahead search over product names.
+ * <p>
+ * Queries run against an immutable {@link ProductSearchSnapshot} built from the products table at startup and rebuilt
+ * periodically, plus a small overlay of the products changed since the snapshot was built. Products in the overlay
+ * are skipped in the snapshot and matched by scanning the overlay instead. The overlay is cleared by the next
+ * rebuild, which is started early once it grows past its limit.
+ * <p>
+ * Results are ranked by the stock or price the snapshot was built with; the stock returned is the live reservable
+ * quantity.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ProductSearchIndex {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+
+    private final ConcurrentHashMap<Long, Change> overlay = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile ProductSearchSnapshot snapshot = ProductSearchSnapshot.EMPTY;
+
+    @Value("${products.search.rebuild-chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${products.search.max-overlay:10000}")
+    private int maxOverlay;
+
+    @Value("${products.search.default-score:STOCK}")
+    private ProductSearchScore defaultScore;
+
+    /**
+     * @param query  words typed so far, each one matches as a prefix of a word in the name
+     * @param score  what to rank by, the configured default if null
+     * @param limit  maximum number of products to return
+     * @return the best matching products, best first
+     */
+    public List<ProductViewDTO> search(String query, ProductSearchScore score, int limit) {
+        List<String> tokens = ProductSearchSnapshot.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (score == null) {
+            score = defaultScore;
+        }
+        int k = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        // The snapshot's best k merged with every matching overlay product is enough to find the overall best k
+        List<ProductSearchRow> candidates = new ArrayList<>(snapshot.search(tokens, score, k, overlay::containsKey));
+        overlay.values().stream()
+                .filter(change -> change.row() != null && ProductSearchSnapshot.matches(change.terms(), tokens))
+                .forEach(change -> candidates.add(change.row()));
+        candidates.sort(score.comparator());
+
+        return candidates.stream()
+                .limit(k)
+                .map(row -> {
+                    Integer available = inventoryService.available(row.getId());
+                    return new ProductViewDTO(row.getId(), row.getName(), row.getPrice(),
+                            available != null ? available : row.getAvailableQuantity());
+                })
+                .toList();
+    }
+
+    /**
+     * Records a created or updated product, call it once the change is committed.
+     */
+    public void upsert(ProductSearchRow row) {
+        record(row.getId(), new Change(row, ProductSearchSnapshot.tokenize(row.getName()), sequence.incrementAndGet()));
+    }
+
+    /**
+     * Records a deleted product, call it once the change is committed.
+     */
+    public void remove(Long productId) {
+        record(productId, new Change(null, List.of(), sequence.incrementAndGet()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${products.search.rebuild-interval-ms:600000}",
+            initialDelayString = "${products.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            long rebuiltFrom = sequence.get();
+            ProductSearchSnapshot.Builder builder = new ProductSearchSnapshot.Builder();
+            long afterId = 0;
+            List<ProductSearchRow> rows;
+            do {
+                rows = productRepository.findSearchRows(afterId, Limit.of(chunkSize));
+                rows.forEach(builder::add);
+                if (!rows.isEmpty()) {
+                    afterId = rows.getLast().getId();
+                }
+            } while (rows.size() == chunkSize);
+            snapshot = builder.build();
+
+            // Changes committed before the rebuild started are in the new snapshot, later ones stay in the overlay
+            overlay.values().removeIf(change -> change.sequence() <= rebuiltFrom);
+            log.info("Built product search index over {} products in {} ms", snapshot.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void record(Long productId, Change change) {
+        overlay.put(productId, change);
+        if (overlay.size() > maxOverlay && !rebuilding.get()) {
+            Thread.ofVirtual().name("product-search-rebuild").start(this::rebuild);
+        }
+    }
+
+    // row is null for a deleted product
+    private record Change(ProductSearchRow row, List<String> terms, long sequence) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.ecommerce.products.search;
+
+import com.project.ecommerce.products.dto.ProductSearchRow;
+import com.project.ecommerce.products.entities.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that passes product changes to the search index once they are committed.
+ * The index is looked up lazily because Hibernate creates this listener while the repositories are still being built.
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductSearchIndexer {
+
+    private final ObjectProvider<ProductSearchIndex> productSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onProductSaved(Product product) {
+        ProductSearchRow row = new ProductSearchRow(product.getId(), product.getName(), product.getPrice(),
+                product.getAvailableQuantity());
+        afterCommit(() -> productSearchIndex.getObject().upsert(row));
+    }
+
+    @PostRemove
+    public void onProductRemoved(Product product) {
+        Long productId = product.getId();
+        afterCommit(() -> productSearchIndex.getObject().remove(productId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
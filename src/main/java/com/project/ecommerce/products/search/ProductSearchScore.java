@@ -0,0 +1,23 @@
+package com.project.ecommerce.products.search;
+
+import com.project.ecommerce.products.dto.ProductSearchRow;
+
+import java.util.Comparator;
+
+/**
+ * What search results are ranked by, highest first. Ties are broken by product ID.
+ */
+public enum ProductSearchScore {
+    STOCK,
+    PRICE;
+
+    public double value(double price, int stock) {
+        return this == PRICE ? price : stock;
+    }
+
+    public Comparator<ProductSearchRow> comparator() {
+        return Comparator.<ProductSearchRow>comparingDouble(row -> value(row.getPrice(), row.getAvailableQuantity()))
+                .reversed()
+                .thenComparing(ProductSearchRow::getId);
+    }
+}
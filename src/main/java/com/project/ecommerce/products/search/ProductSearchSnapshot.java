@@ -0,0 +1,313 @@
+package com.project.ecommerce.products.search;
+
+import com.project.ecommerce.products.dto.ProductSearchRow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable prefix index over product names, held in primitive arrays so a million products take tens of megabytes.
+ * <p>
+ * Names are split into lower-case terms. The distinct terms are kept sorted, so the terms starting with a prefix form
+ * one contiguous range found by binary search. Every term has a posting list of the products containing it, stored
+ * once per {@link ProductSearchScore} in best-first order. A query merges the posting lists of its term range and
+ * stops as soon as it has the requested number of matches. A segment tree over the terms gives the best term of any
+ * range, so the merge expands terms lazily and a one-letter prefix covering thousands of terms costs about the same
+ * as a full word: the work depends on the result size, not on the number of products or terms.
+ */
+public final class ProductSearchSnapshot {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static final ProductSearchSnapshot EMPTY = new Builder().build();
+
+    private final long[] ids;
+    private final double[] prices;
+    private final int[] stocks;
+    private final byte[] names;
+    private final int[] nameOffsets;
+    private final String[] terms;
+    private final int[] termOffsets;
+    // Per score: the documents of every term, best first, and the position of every document in that order
+    private final int[][] postings;
+    private final int[][] ranks;
+    // Per score: segment tree over the sorted terms holding the term with the best first posting of every node
+    private final int[][] bestTerms;
+
+    private ProductSearchSnapshot(long[] ids, double[] prices, int[] stocks, byte[] names, int[] nameOffsets,
+                                  String[] terms, int[] termOffsets, int[][] postings, int[][] ranks, int[][] bestTerms) {
+        this.ids = ids;
+        this.prices = prices;
+        this.stocks = stocks;
+        this.names = names;
+        this.nameOffsets = nameOffsets;
+        this.terms = terms;
+        this.termOffsets = termOffsets;
+        this.postings = postings;
+        this.ranks = ranks;
+        this.bestTerms = bestTerms;
+    }
+
+    /**
+     * Splits a name or query into distinct lower-case terms.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * @return true if every query token is a prefix of one of the terms
+     */
+    public static boolean matches(List<String> terms, List<String> tokens) {
+        for (String token : tokens) {
+            if (terms.stream().noneMatch(term -> term.startsWith(token))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the best products whose name has a term starting with every token.
+     *
+     * @param tokens query tokens, as returned by {@link #tokenize(String)}
+     * @param score  what to rank by
+     * @param limit  maximum number of products to return
+     * @param skip   products to leave out, e.g. because a newer version of them is held elsewhere
+     */
+    public List<ProductSearchRow> search(List<String> tokens, ProductSearchScore score, int limit, LongPredicate skip) {
+        if (tokens.isEmpty() || ids.length == 0) {
+            return List.of();
+        }
+        // The longest token has the narrowest term range, the others are checked against the candidates
+        String lead = tokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        int from = lowerBound(lead);
+        int to = lowerBound(lead + Character.MAX_VALUE);
+        if (from == to) {
+            return List.of();
+        }
+
+        // Merge the posting lists of the term range best first. Terms not read yet stay grouped in range heads whose
+        // best term comes from the segment tree, so only the terms that actually contribute results are expanded.
+        int[] list = postings[score.ordinal()];
+        int[] rank = ranks[score.ordinal()];
+        int[] tree = bestTerms[score.ordinal()];
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingInt(Head::key));
+        addRange(heads, tree, list, rank, from, to);
+
+        List<ProductSearchRow> results = new ArrayList<>(limit);
+        int lastDoc = -1;
+        while (!heads.isEmpty() && results.size() < limit) {
+            Head head = heads.poll();
+            int position;
+            int end;
+            if (head.term() >= 0) {
+                // First posting of the range's best term, the rest of the range stays unexpanded
+                addRange(heads, tree, list, rank, head.from(), head.term());
+                addRange(heads, tree, list, rank, head.term() + 1, head.to());
+                position = termOffsets[head.term()];
+                end = termOffsets[head.term() + 1];
+            } else {
+                position = head.from();
+                end = head.to();
+            }
+            int doc = list[position];
+            if (position + 1 < end) {
+                heads.add(new Head(rank[list[position + 1]], -1, position + 1, end));
+            }
+            // A product with several terms in the range comes up once per term, always back to back
+            if (doc == lastDoc) {
+                continue;
+            }
+            lastDoc = doc;
+            if (skip.test(ids[doc]) || (tokens.size() > 1 && !matches(tokenize(name(doc)), tokens))) {
+                continue;
+            }
+            results.add(new ProductSearchRow(ids[doc], name(doc), prices[doc], stocks[doc]));
+        }
+        return results;
+    }
+
+    private void addRange(PriorityQueue<Head> heads, int[] tree, int[] list, int[] rank, int from, int to) {
+        if (from < to) {
+            int term = bestTerm(tree, list, rank, from, to);
+            heads.add(new Head(rank[list[termOffsets[term]]], term, from, to));
+        }
+    }
+
+    // Term in [from, to) whose first posting ranks best, read from an iterative segment tree over the sorted terms
+    private int bestTerm(int[] tree, int[] list, int[] rank, int from, int to) {
+        int best = -1;
+        for (int low = from + terms.length, high = to + terms.length; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = better(best, tree[low++], list, rank);
+            }
+            if ((high & 1) == 1) {
+                best = better(best, tree[--high], list, rank);
+            }
+        }
+        return best;
+    }
+
+    private int better(int term, int other, int[] list, int[] rank) {
+        if (term < 0) {
+            return other;
+        }
+        return rank[list[termOffsets[other]]] < rank[list[termOffsets[term]]] ? other : term;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (terms[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private String name(int doc) {
+        return new String(names, nameOffsets[doc], nameOffsets[doc + 1] - nameOffsets[doc], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Collects products in growable primitive arrays and builds the snapshot in one pass per score.
+     */
+    public static final class Builder {
+        private long[] ids = new long[1024];
+        private double[] prices = new double[1024];
+        private int[] stocks = new int[1024];
+        private int[][] docTerms = new int[1024][];
+        private byte[] names = new byte[16 * 1024];
+        private int[] nameOffsets = new int[1025];
+        private int size;
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> termList = new ArrayList<>();
+        private int postingCount;
+
+        public Builder add(ProductSearchRow row) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                stocks = Arrays.copyOf(stocks, capacity);
+                docTerms = Arrays.copyOf(docTerms, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+            }
+            byte[] name = row.getName() != null ? row.getName().getBytes(StandardCharsets.UTF_8) : new byte[0];
+            int nameStart = nameOffsets[size];
+            if (nameStart + name.length > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, nameStart + name.length));
+            }
+            System.arraycopy(name, 0, names, nameStart, name.length);
+            nameOffsets[size + 1] = nameStart + name.length;
+
+            ids[size] = row.getId();
+            prices[size] = row.getPrice() != null ? row.getPrice() : 0;
+            stocks[size] = row.getAvailableQuantity() != null ? row.getAvailableQuantity() : 0;
+            docTerms[size] = tokenize(row.getName()).stream()
+                    .mapToInt(term -> termIds.computeIfAbsent(term, t -> {
+                        termList.add(t);
+                        return termList.size() - 1;
+                    }))
+                    .toArray();
+            postingCount += docTerms[size].length;
+            size++;
+            return this;
+        }
+
+        public ProductSearchSnapshot build() {
+            // Sort the terms and renumber them so a term's position is its id
+            String[] terms = termList.toArray(new String[0]);
+            Integer[] order = IntStream.range(0, terms.length).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparing((Integer term) -> terms[term]));
+            int[] sortedId = new int[terms.length];
+            String[] sortedTerms = new String[terms.length];
+            for (int position = 0; position < order.length; position++) {
+                sortedId[order[position]] = position;
+                sortedTerms[position] = terms[order[position]];
+            }
+
+            int[] termOffsets = new int[terms.length + 1];
+            for (int doc = 0; doc < size; doc++) {
+                for (int term : docTerms[doc]) {
+                    termOffsets[sortedId[term] + 1]++;
+                }
+            }
+            for (int term = 0; term < terms.length; term++) {
+                termOffsets[term + 1] += termOffsets[term];
+            }
+
+            // Appending documents in score order leaves every posting list sorted best first
+            ProductSearchScore[] scores = ProductSearchScore.values();
+            int[][] postings = new int[scores.length][];
+            int[][] ranks = new int[scores.length][];
+            int[][] bestTerms = new int[scores.length][];
+            for (ProductSearchScore score : scores) {
+                int[] list = new int[postingCount];
+                int[] rank = new int[size];
+                int[] next = Arrays.copyOf(termOffsets, terms.length);
+                int[] docs = IntStream.range(0, size).boxed()
+                        .sorted(Comparator.<Integer>comparingDouble(doc -> score.value(prices[doc], stocks[doc]))
+                                .reversed()
+                                .thenComparingLong(doc -> ids[doc]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                for (int position = 0; position < docs.length; position++) {
+                    int doc = docs[position];
+                    rank[doc] = position;
+                    for (int term : docTerms[doc]) {
+                        list[next[sortedId[term]]++] = doc;
+                    }
+                }
+                postings[score.ordinal()] = list;
+                ranks[score.ordinal()] = rank;
+
+                // Leaves are the terms themselves, every inner node keeps the better of its two children
+                int[] tree = new int[2 * terms.length];
+                for (int term = 0; term < terms.length; term++) {
+                    tree[terms.length + term] = term;
+                }
+                for (int node = terms.length - 1; node > 0; node--) {
+                    int left = tree[2 * node];
+                    int right = tree[2 * node + 1];
+                    tree[node] = rank[list[termOffsets[right]]] < rank[list[termOffsets[left]]] ? right : left;
+                }
+                bestTerms[score.ordinal()] = tree;
+            }
+
+            return new ProductSearchSnapshot(Arrays.copyOf(ids, size), Arrays.copyOf(prices, size), Arrays.copyOf(stocks, size),
+                    Arrays.copyOf(names, nameOffsets[size]), Arrays.copyOf(nameOffsets, size + 1),
+                    sortedTerms, termOffsets, postings, ranks, bestTerms);
+        }
+    }
+
+    // A range head covers the unread terms [from, to) and starts at the first posting of term, its best one.
+    // A posting head has term -1 and covers the positions [from, to) of one posting list.
+    private record Head(int key, int term, int from, int to) {
+    }
+}
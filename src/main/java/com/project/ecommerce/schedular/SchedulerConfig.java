@@ -1,17 +1,16 @@
 package com.project.ecommerce.schedular;
 
-import com.project.ecommerce.orders.constants.OrderStatus;
-import com.project.ecommerce.orders.dto.OrderResponseDTO;
 import com.project.ecommerce.orders.services.OrderService;
-import com.project.ecommerce.payments.constants.PaymentType;
-import com.project.ecommerce.payments.entity.Payment;
 import com.project.ecommerce.payments.service.PaymentService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.function.IntSupplier;
 
 @Slf4j
 @Component
@@ -20,39 +19,47 @@ public class SchedulerConfig {
 
     private final OrderService orderService;
     private final PaymentService paymentService;
+    private final MeterRegistry meterRegistry;
 
-    public SchedulerConfig(OrderService orderService, PaymentService paymentService) {
+    public SchedulerConfig(OrderService orderService, PaymentService paymentService, MeterRegistry meterRegistry) {
         this.orderService = orderService;
         this.paymentService = paymentService;
+        this.meterRegistry = meterRegistry;
     }
 
-    @Scheduled(fixedRate = 300000) // runs every 5 minutes
+    // Orders move on through outbox events within milliseconds, this scan only catches ones whose event was lost
+    @Scheduled(fixedDelayString = "${scheduler.safety-net-interval-ms:3600000}",
+            initialDelayString = "${scheduler.safety-net-interval-ms:3600000}")
     public void processPendingOrders() {
-        log.info("Scheduler triggered to check for pending orders...");
-
-        if (orderService.hasPendingOrders()) {
-            log.info("Pending orders found!! Updating Order Status..");
-            orderService.updatePendingOrders();
-        } else {
-            log.info("No pending orders found. Skipping processing.");
-        }
+        log.info("Scheduler triggered to move pending orders to processing...");
+
+        int moved = measure("pending-orders", orderService::updatePendingOrders);
+        log.info("Moved {} pending orders to PROCESSING", moved);
     }
 
-    @Scheduled(fixedRate = 300000)
+    @Scheduled(fixedDelayString = "${scheduler.safety-net-interval-ms:3600000}",
+            initialDelayString = "${scheduler.safety-net-interval-ms:3600000}")
     public void processPaymentsForOrders() {
-        if (orderService.hasPendingOrders()) {
-            List<OrderResponseDTO> pendingOrders = orderService.getAllOrders(OrderStatus.PENDING);
-            pendingOrders.forEach(order -> {
-                Payment paymentForOrderID = paymentService.getPaymentByOrderId(order.getOrderId());
-                PaymentType paymentType = paymentForOrderID.getPaymentType();
-                if ("COD".equalsIgnoreCase(String.valueOf(paymentType))) {
-                    orderService.updateOrderStatus(order.getOrderId(), OrderStatus.PROCESSING);
-                }else if("CARD_PAYMENT".equalsIgnoreCase(String.valueOf(paymentType))) {
-                    double paymentAmount  = paymentForOrderID.getAmount();
-                    if(paymentAmount >= order.getBillingAmount()){
-                        orderService.updateOrderStatus(order.getOrderId(), OrderStatus.PROCESSING);
-                }}
-            });
-        }
+        int moved = measure("paid-orders", paymentService::processPendingOrderPayments);
+        log.info("Moved {} paid pending orders to PROCESSING", moved);
+    }
+
+    // Records the duration of a run and the number of orders it moved
+    private int measure(String job, IntSupplier run) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int moved = run.getAsInt();
+        sample.stop(Timer.builder("scheduler.batch.duration")
+                .description("Duration of a scheduler run")
+                .tag("job", job)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        DistributionSummary.builder("scheduler.batch.size")
+                .description("Orders moved by a scheduler run")
+                .tag("job", job)
+                .baseUnit("orders")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(moved);
+        return moved;
     }
-}
\ No newline at end of file
+}
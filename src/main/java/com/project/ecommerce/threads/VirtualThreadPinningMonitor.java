@@ -0,0 +1,82 @@
+package com.project.ecommerce.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, e.g. while blocking inside native code or a
+ * driver's synchronized block, since every pinned thread holds one of the few carrier threads.
+ * <p>
+ * Pinned periods longer than the threshold are read from the JFR {@code jdk.VirtualThreadPinned} event, recorded
+ * in the {@code jvm.threads.virtual.pinned} timer and logged with the top of the blocking stack.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${threads.virtual.pinned-threshold:20ms}")
+    private Duration pinnedThreshold;
+
+    private RecordingStream recordingStream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than " + pinnedThreshold.toMillis() + " ms")
+                .register(meterRegistry);
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, event -> {
+            pinned.record(event.getDuration());
+            log.warn("Virtual thread {} pinned for {} ms at {}", threadName(event), event.getDuration().toMillis(), topFrames(event));
+        });
+        recordingStream.startAsync();
+        log.info("Monitoring virtual thread pinning above {} ms", pinnedThreshold.toMillis());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private static String threadName(RecordedEvent event) {
+        return event.getThread() != null ? event.getThread().getJavaName() : "unknown";
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown location";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+}
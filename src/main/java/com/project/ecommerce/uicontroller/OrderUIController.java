@@ -2,37 +2,50 @@ package com.project.ecommerce.uicontroller;
 
 import com.project.ecommerce.customers.entities.Customer;
 import com.project.ecommerce.customers.repository.CustomerRepository;
-import com.project.ecommerce.orders.entities.Order;
-import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.orders.services.OrderSummaryService;
 
-import com.project.ecommerce.products.entities.Product;
-import com.project.ecommerce.products.repository.ProductRepository;
+import com.project.ecommerce.products.cache.ProductCatalog;
+import com.project.ecommerce.products.dto.ProductViewDTO;
+import com.project.ecommerce.products.inventory.InventoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Controller
 public class OrderUIController {
-    private final OrderRepository orderRepository;
+    private static final int SUMMARY_DAYS = 14;
+    private static final int RECENT_ORDERS_PAGE_SIZE = 20;
+
+    private final OrderService orderService;
+    private final OrderSummaryService orderSummaryService;
     private final CustomerRepository customerRepository;
-    private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final InventoryService inventoryService;
 
     //UI - Thymeleaf
     @GetMapping("/orders-ui/summary")
-    public String viewOrderSummary(Model model) {
-        List<Order> orders = orderRepository.findAll();
-        model.addAttribute("orders", orders);
+    public String viewOrderSummary(@RequestParam(required = false) String cursor, Model model) {
+        // Aggregates come from the rollup table, orders from one keyset page, so the cost does not grow with the table
+        model.addAttribute("summary", orderSummaryService.getSummary(SUMMARY_DAYS));
+        model.addAttribute("page", orderService.getOrders(null, cursor, RECENT_ORDERS_PAGE_SIZE));
         return "order-summary";
     }
 
     @GetMapping("/orders-ui/dashboard")
     public String dashboard(Model model) {
         List<Customer> customers = customerRepository.findAll();
-        List<Product> products = productRepository.findAll();
+        // Name and price come from the catalog cache, stock from the inventory engine
+        List<ProductViewDTO> products = productCatalog.getAllProducts().stream()
+                .map(product -> new ProductViewDTO(product.getId(), product.getName(), product.getPrice(),
+                        inventoryService.available(product.getId())))
+                .collect(Collectors.toList());
 
         model.addAttribute("customers", customers);
         model.addAttribute("products", products);
@@ -0,0 +1,53 @@
+package com.project.ecommerce.analytics;
+
+import com.project.ecommerce.analytics.constants.SalesDimension;
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import com.project.ecommerce.analytics.dto.ItemSalesRow;
+import com.project.ecommerce.analytics.dto.OrderSalesRow;
+import com.project.ecommerce.analytics.service.SalesAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesAggregateTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 14, 10, 42);
+
+    @Test
+    void testAddOrders_foldsOrdersIntoEveryBucket() {
+        SalesAggregate aggregate = new SalesAggregate();
+        aggregate.addOrders(
+                List.of(new OrderSalesRow(1L, 7L, CREATED_AT, 50.0), new OrderSalesRow(2L, 7L, CREATED_AT.plusMinutes(5), 20.0)),
+                List.of(new ItemSalesRow(1L, 100L, 2, 40.0), new ItemSalesRow(1L, 101L, 1, 10.0), new ItemSalesRow(2L, 100L, 1, 20.0)),
+                1);
+
+        SalesAggregate.Totals hour = total(aggregate, SalesDimension.TOTAL, 0, TimeBucket.HOUR, CREATED_AT.withMinute(0));
+        assertEquals(2, hour.orderCount());
+        assertEquals(4, hour.quantity());
+        assertEquals(70.0, hour.revenue(), 1e-9);
+
+        SalesAggregate.Totals customerMonth = total(aggregate, SalesDimension.CUSTOMER, 7L, TimeBucket.MONTH,
+                LocalDateTime.of(2025, 3, 1, 0, 0));
+        assertEquals(2, customerMonth.orderCount());
+        assertEquals(70.0, customerMonth.revenue(), 1e-9);
+
+        SalesAggregate.Totals productDay = total(aggregate, SalesDimension.PRODUCT, 100L, TimeBucket.DAY,
+                CREATED_AT.toLocalDate().atStartOfDay());
+        assertEquals(2, productDay.orderCount());
+        assertEquals(3, productDay.quantity());
+        assertEquals(60.0, productDay.revenue(), 1e-9);
+
+        // Products are not kept per hour
+        assertNull(aggregate.totals().get(new SalesAggregate.Key(SalesDimension.PRODUCT, 100L, TimeBucket.HOUR, CREATED_AT.withMinute(0))));
+    }
+
+    private SalesAggregate.Totals total(SalesAggregate aggregate, SalesDimension dimension, long id, TimeBucket granularity,
+                                        LocalDateTime bucketStart) {
+        SalesAggregate.Totals totals = aggregate.totals().get(new SalesAggregate.Key(dimension, id, granularity, bucketStart));
+        assertNotNull(totals);
+        return totals;
+    }
+}
@@ -0,0 +1,180 @@
+package com.project.ecommerce.analytics;
+
+import com.project.ecommerce.analytics.constants.SalesDimension;
+import com.project.ecommerce.analytics.constants.TimeBucket;
+import com.project.ecommerce.analytics.entity.SalesRollup;
+import com.project.ecommerce.analytics.outbox.SalesRollupHandler;
+import com.project.ecommerce.analytics.repository.SalesRollupRepository;
+import com.project.ecommerce.analytics.repository.SalesSourceRepository;
+import com.project.ecommerce.analytics.service.AnalyticsService;
+import com.project.ecommerce.analytics.service.SalesBackfillRunner;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventRepository;
+import com.project.ecommerce.outbox.OutboxEventType;
+import com.project.ecommerce.outbox.OutboxHandledEvent;
+import com.project.ecommerce.outbox.OutboxHandledEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class SalesBackfillHandoffTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2004, 2, 2, 10, 0);
+
+    @Autowired
+    private SalesBackfillRunner salesBackfillRunner;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private SalesSourceRepository salesSourceRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxHandledEventRepository outboxHandledEventRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testCancellations_takenOutOnceAcrossBackfill() throws Exception {
+        awaitBackfill();
+        saveOrder(OrderStatus.PENDING, 10.0, CREATED_AT);
+        Order cancelledBefore = saveOrder(OrderStatus.CANCELLED, 20.0, CREATED_AT);
+        cancelEvent(cancelledBefore);
+        Order cancelledAfter = saveOrder(OrderStatus.PENDING, 40.0, CREATED_AT);
+
+        // The cancellation was processed before the backfill started, so the backfill leaves the order out
+        salesBackfillRunner.start();
+        awaitBackfill();
+        assertDayTotal(CREATED_AT, 2, 50.0);
+
+        // Cancelled after the backfill started, taken out by the handler
+        cancelledAfter.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(cancelledAfter);
+        analyticsService.apply(List.of(cancelEvent(cancelledAfter)));
+        assertDayTotal(CREATED_AT, 1, 10.0);
+    }
+
+    @Test
+    void testOrderCommittedDuringBackfill_countedOnce() throws Exception {
+        // Whether the backfill or the dispatcher gets to the order first, its creation event is not processed when
+        // the backfill starts, so only the handler counts it
+        LocalDateTime createdAt = CREATED_AT.plusMonths(2);
+        awaitBackfill();
+        Order order = saveOrder(OrderStatus.PENDING, 70.0, createdAt);
+        OutboxEvent creation = outboxEventRepository.save(OutboxEvent.builder()
+                .orderId(order.getId())
+                .type(OutboxEventType.ORDER_CREATED)
+                .toStatus(OrderStatus.PENDING)
+                .amount(order.getBillingAmount())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        salesBackfillRunner.start();
+        awaitBackfill();
+        for (int i = 0; i < 300 && outboxEventRepository.findById(creation.getId()).orElseThrow().getProcessedAt() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertNotNull(outboxEventRepository.findById(creation.getId()).orElseThrow().getProcessedAt());
+        assertDayTotal(createdAt, 1, 70.0);
+    }
+
+    @Test
+    void testChunkQueries_splitOrdersBetweenBackfillAndHandler() {
+        LocalDateTime createdAt = CREATED_AT.plusMonths(1);
+        // Created before the handler's progress was cleared: the backfill counts it
+        Order before = saveOrder(OrderStatus.PENDING, 10.0, createdAt);
+        createdEvent(before);
+        // Created and handled since: the handler counted it
+        Order handled = saveOrder(OrderStatus.PENDING, 20.0, createdAt);
+        markHandled(createdEvent(handled));
+        // Cancelled before: left out by the backfill
+        Order cancelledBefore = saveOrder(OrderStatus.CANCELLED, 30.0, createdAt);
+        cancelEvent(cancelledBefore);
+        // Cancelled since: the handler takes it out, so the backfill counts it
+        Order cancelledSince = saveOrder(OrderStatus.CANCELLED, 40.0, createdAt);
+        markHandled(cancelEvent(cancelledSince));
+
+        List<Long> ids = List.of(before.getId(), handled.getId(), cancelledBefore.getId(), cancelledSince.getId());
+        assertEquals(List.of(handled.getId()), salesSourceRepository.findCreatedLeftToHandler(
+                ids, OutboxEventType.ORDER_CREATED, SalesRollupHandler.NAME));
+        assertEquals(List.of(cancelledBefore.getId()), salesSourceRepository.findCancelledBeforeHandler(
+                ids, OrderStatus.CANCELLED, SalesRollupHandler.NAME));
+    }
+
+    private Order saveOrder(OrderStatus status, double amount, LocalDateTime createdAt) {
+        return orderRepository.save(Order.builder()
+                .createdAt(createdAt)
+                .status(status)
+                .billingAmount(amount)
+                .customer(customerRepository.findAll().get(0))
+                .build());
+    }
+
+    // Saved as processed, so the outbox dispatcher leaves it to the test
+    private OutboxEvent cancelEvent(Order order) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .orderId(order.getId())
+                .type(OutboxEventType.ORDER_STATUS_CHANGED)
+                .fromStatus(OrderStatus.PENDING)
+                .toStatus(OrderStatus.CANCELLED)
+                .createdAt(LocalDateTime.now())
+                .processedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private OutboxEvent createdEvent(Order order) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .orderId(order.getId())
+                .type(OutboxEventType.ORDER_CREATED)
+                .toStatus(OrderStatus.PENDING)
+                .amount(order.getBillingAmount())
+                .createdAt(LocalDateTime.now())
+                .processedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void markHandled(OutboxEvent event) {
+        OutboxHandledEvent handled = new OutboxHandledEvent(event.getId(), SalesRollupHandler.NAME);
+        handled.setCompletedAt(LocalDateTime.now());
+        outboxHandledEventRepository.save(handled);
+    }
+
+    private void assertDayTotal(LocalDateTime day, long orderCount, double revenue) {
+        List<SalesRollup> rows = salesRollupRepository.findRows(SalesDimension.TOTAL, TimeBucket.DAY,
+                Set.of(day.toLocalDate().atStartOfDay()), Set.of(0L));
+        assertEquals(1, rows.size());
+        assertEquals(orderCount, rows.getFirst().getOrderCount());
+        assertEquals(revenue, rows.getFirst().getRevenue(), 1e-9);
+    }
+
+    private void awaitBackfill() throws InterruptedException {
+        for (int i = 0; i < 300 && salesBackfillRunner.status().isRunning(); i++) {
+            Thread.sleep(100);
+        }
+        assertFalse(salesBackfillRunner.status().isRunning());
+    }
+}
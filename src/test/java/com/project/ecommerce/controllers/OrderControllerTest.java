@@ -3,10 +3,14 @@ package com.project.ecommerce.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.ecommerce.orders.controllers.OrderController;
 import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.OrderPageDTO;
 import com.project.ecommerce.orders.dto.OrderRequestDTO;
 import com.project.ecommerce.orders.dto.OrderResponseDTO;
 import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.exceptionhandling.ExportLimitExceededException;
 import com.project.ecommerce.orders.exceptionhandling.OrderNotFoundException;
+import com.project.ecommerce.orders.services.OrderBatchService;
+import com.project.ecommerce.orders.services.OrderExportService;
 import com.project.ecommerce.orders.services.OrderService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +24,9 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +40,12 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderBatchService orderBatchService;
+
+    @MockBean
+    private OrderExportService orderExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -86,17 +99,29 @@ class OrderControllerTest {
     }
 
     @Test
-    void shouldReturnAllOrders() throws Exception {
+    void shouldReturnFirstPageOfOrders() throws Exception {
         OrderResponseDTO dto = new OrderResponseDTO();
         dto.setOrderId(1L);
         dto.setStatus(String.valueOf(OrderStatus.PENDING));
 
-        when(orderService.getAllOrders(null)).thenReturn(Collections.singletonList(dto));
+        when(orderService.getOrders(null, null, 50))
+                .thenReturn(new OrderPageDTO(Collections.singletonList(dto), "MQ"));
 
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].orderId").value(1L))
-                .andExpect(jsonPath("$[0].status").value("PENDING"));
+                .andExpect(jsonPath("$.items[0].orderId").value(1L))
+                .andExpect(jsonPath("$.items[0].status").value("PENDING"))
+                .andExpect(jsonPath("$.nextCursor").value("MQ"));
     }
 
+    @Test
+    void shouldReturn429WhenTooManyExportsAreRunning() throws Exception {
+        doThrow(new ExportLimitExceededException("Too many exports are running, try again later"))
+                .when(orderExportService).acquireSlot();
+
+        mockMvc.perform(get("/api/orders/export"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value("TOO_MANY_REQUESTS"));
+        verify(orderExportService, never()).releaseSlot();
+    }
 }
@@ -0,0 +1,98 @@
+package com.project.ecommerce.inventory;
+
+import com.project.ecommerce.products.inventory.InventoryEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryEngineTest {
+
+    private static final int THREADS = 64;
+    private static final int PRODUCTS = 4;
+    private static final int INITIAL_STOCK = 1_000;
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+
+    @Test
+    void testReserve_neverOversellsUnderContention() throws Exception {
+        InventoryEngine engine = new InventoryEngine();
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            engine.seed(productId, INITIAL_STOCK);
+        }
+        AtomicLongArray sold = new AtomicLongArray(PRODUCTS + 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    // Multi-product orders, so partial reservations have to be rolled back correctly
+                    Map<Long, Integer> quantities = new HashMap<>();
+                    quantities.put((long) random.nextInt(1, PRODUCTS + 1), random.nextInt(1, 4));
+                    quantities.merge((long) random.nextInt(1, PRODUCTS + 1), random.nextInt(1, 4), Integer::sum);
+                    if (engine.reserve(quantities) == null) {
+                        quantities.forEach((productId, quantity) -> sold.addAndGet(productId.intValue(), quantity));
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            int available = engine.available(productId);
+            assertTrue(available >= 0, "stock went negative for product " + productId);
+            assertEquals(INITIAL_STOCK, available + sold.get((int) productId), "stock leaked for product " + productId);
+        }
+    }
+
+    @Test
+    void testReserve_isAllOrNothing() {
+        InventoryEngine engine = new InventoryEngine();
+        engine.seed(1L, 5);
+        engine.seed(2L, 1);
+
+        Long shortProduct = engine.reserve(Map.of(1L, 3, 2L, 2));
+
+        assertEquals(2L, shortProduct);
+        assertEquals(5, engine.available(1L));
+        assertEquals(1, engine.available(2L));
+    }
+
+    @Test
+    void testRelease_restoresStock() {
+        InventoryEngine engine = new InventoryEngine();
+        engine.seed(1L, 5);
+
+        assertNull(engine.reserve(Map.of(1L, 5)));
+        engine.release(Map.of(1L, 5));
+
+        assertEquals(5, engine.available(1L));
+    }
+
+    @Test
+    void testTryAdjust_neverTakesReservedStock() {
+        InventoryEngine engine = new InventoryEngine();
+        engine.seed(1L, 5);
+        assertNull(engine.reserve(Map.of(1L, 4)));
+
+        assertFalse(engine.tryAdjust(1L, -2));
+        assertEquals(1, engine.available(1L));
+        assertTrue(engine.tryAdjust(1L, 3));
+        assertTrue(engine.tryAdjust(1L, -4));
+        assertEquals(0, engine.available(1L));
+        assertFalse(engine.tryAdjust(2L, 1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.ecommerce.inventory;
+
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.products.entities.Product;
+import com.project.ecommerce.products.inventory.InventoryService;
+import com.project.ecommerce.products.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class InventoryFlushTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testFlush_staleOrderSaveCannotReapplyStock() {
+        Product product = productRepository.save(Product.builder().name("Flush").price(10.0).availableQuantity(10).build());
+        Order order = Order.builder()
+                .createdAt(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .billingAmount(30.0)
+                .stockPending(true)
+                .customer(customerRepository.findAll().get(0))
+                .build();
+        order.setOrderItems(List.of(OrderItem.builder().order(order).product(product).quantity(3).net_price(30.0).build()));
+        // The returned copy is detached and still carries stockPending = true, like an order loaded before the flush
+        Order stale = orderRepository.save(order);
+
+        inventoryService.flush();
+        assertEquals(7, productRepository.findById(product.getId()).orElseThrow().getAvailableQuantity());
+
+        // A payment applied to the stale copy must not write stock_pending = true back
+        stale.setAmountPaid(30.0);
+        assertThrows(OptimisticLockingFailureException.class, () -> orderRepository.save(stale));
+
+        inventoryService.flush();
+        assertEquals(7, productRepository.findById(product.getId()).orElseThrow().getAvailableQuantity());
+        assertFalse(orderRepository.findById(stale.getId()).orElseThrow().isStockPending());
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.ecommerce.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderMetrics orderMetrics = new OrderMetrics(registry);
+
+    @BeforeEach
+    void startTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testCreatedAfterCommit_countsOnCommit() {
+        orderMetrics.createdAfterCommit(1);
+        assertEquals(0.0, created());
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertEquals(1.0, created());
+    }
+
+    @Test
+    void testCreatedAfterCommit_skipsRollback() {
+        orderMetrics.createdAfterCommit(1);
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(0.0, created());
+    }
+
+    private double created() {
+        return registry.get("orders.created").counter().count();
+    }
+}
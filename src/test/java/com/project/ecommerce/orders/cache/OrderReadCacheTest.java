@@ -0,0 +1,50 @@
+package com.project.ecommerce.orders.cache;
+
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderReadCacheTest {
+
+    private final OrderReadCache cache = new OrderReadCache(new CaffeineCacheManager(OrderReadCache.CACHE_NAME));
+
+    @Test
+    void testInvalidateAfterCommit_dropsOnlyTheGivenOrders() {
+        for (long id = 1; id <= 5; id++) {
+            cache.put(id, 0, dto(id), cache.readStamp());
+        }
+
+        cache.invalidateAfterCommit(List.of(2L, 4L));
+
+        assertNull(cache.get(2L));
+        assertNull(cache.get(4L));
+        assertEquals(1L, cache.get(1L).getOrderId());
+        assertEquals(3L, cache.get(3L).getOrderId());
+        assertEquals(5L, cache.get(5L).getOrderId());
+    }
+
+    @Test
+    void testPut_readStampedBeforeInvalidationIsNotCached() throws Exception {
+        long stamp = cache.readStamp();
+        // nanoTime may not advance between two calls
+        Thread.sleep(1);
+        cache.invalidateAfterCommit(List.of(7L));
+
+        cache.put(7L, 0, dto(7L), stamp);
+        assertNull(cache.get(7L));
+
+        Thread.sleep(1);
+        cache.put(7L, 1, dto(7L), cache.readStamp());
+        assertEquals(7L, cache.get(7L).getOrderId());
+    }
+
+    private static OrderResponseDTO dto(long id) {
+        OrderResponseDTO dto = new OrderResponseDTO();
+        dto.setOrderId(id);
+        return dto;
+    }
+}
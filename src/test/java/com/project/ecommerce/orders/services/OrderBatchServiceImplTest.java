@@ -0,0 +1,104 @@
+package com.project.ecommerce.orders.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.metrics.OrderMetrics;
+import com.project.ecommerce.orders.dto.BatchOrderResponseDTO;
+import com.project.ecommerce.orders.dto.BatchOrderResultDTO;
+import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.outbox.OutboxService;
+import com.project.ecommerce.products.cache.ProductCatalog;
+import com.project.ecommerce.products.dto.ProductInfoDTO;
+import com.project.ecommerce.products.inventory.InventoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderBatchServiceImplTest {
+
+    private OrderRepository orderRepository;
+    private CustomerRepository customerRepository;
+    private ProductCatalog productCatalog;
+    private OrderAssembler orderAssembler;
+    private OrderMetrics orderMetrics;
+    private OrderBatchServiceImpl orderBatchService;
+
+    @BeforeEach
+    void setup() {
+        orderRepository = mock(OrderRepository.class);
+        customerRepository = mock(CustomerRepository.class);
+        productCatalog = mock(ProductCatalog.class);
+        orderAssembler = mock(OrderAssembler.class);
+        orderMetrics = mock(OrderMetrics.class);
+        orderBatchService = new OrderBatchServiceImpl(orderRepository, customerRepository, productCatalog,
+                mock(InventoryService.class), orderAssembler,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                mock(PlatformTransactionManager.class), orderMetrics, mock(OutboxService.class));
+        ReflectionTestUtils.setField(orderBatchService, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(orderBatchService, "chunkSize", 2);
+    }
+
+    @Test
+    void testCreateOrders_unexpectedErrorFailsOnlyItsChunk() {
+        // The first chunk blows up with something other than a DataAccessException, the second one still runs
+        when(customerRepository.findAllById(anyCollection()))
+                .thenThrow(new IllegalStateException("boom"))
+                .thenReturn(List.of());
+        when(productCatalog.getProducts(anyCollection())).thenReturn(Map.of());
+
+        BatchOrderResponseDTO response = orderBatchService.createOrders(List.of(order(1L), order(2L), order(3L)));
+
+        assertEquals(3, response.getReceived());
+        assertEquals(0, response.getCreated());
+        assertEquals(3, response.getFailed());
+        List<BatchOrderResultDTO> results = response.getResults();
+        assertEquals(List.of(0, 1, 2), results.stream().map(BatchOrderResultDTO::getIndex).toList());
+        assertEquals("Order could not be saved: boom", results.get(0).getMessage());
+        assertEquals("Order could not be saved: boom", results.get(1).getMessage());
+        assertEquals("Customer not found with ID: 3", results.get(2).getMessage());
+        verify(orderMetrics, never()).created(intThat(count -> count > 0));
+    }
+
+    @Test
+    void testCreateOrders_saveErrorKeepsRejectionsOfItsChunk() {
+        // Customer 1 exists, customer 2 does not, and the chunk's save fails afterwards
+        when(customerRepository.findAllById(anyCollection())).thenReturn(List.of(Customer.builder().id(1L).build()));
+        when(productCatalog.getProducts(anyCollection())).thenReturn(Map.of(1L, new ProductInfoDTO(1L, "Product", 10.0)));
+        when(orderAssembler.quantitiesByProduct(anyList())).thenReturn(Map.of(1L, 1));
+        when(orderAssembler.assemble(any(), any(), anyMap())).thenReturn(new Order());
+        when(orderRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        BatchOrderResponseDTO response = orderBatchService.createOrders(List.of(order(1L), order(2L)));
+
+        assertEquals(2, response.getFailed());
+        assertEquals("Order could not be saved: duplicate", response.getResults().get(0).getMessage());
+        assertEquals("Customer not found with ID: 2", response.getResults().get(1).getMessage());
+        verify(orderMetrics, times(1)).rejected(OrderMetrics.NOT_FOUND);
+        verify(orderMetrics, never()).created(intThat(count -> count > 0));
+    }
+
+    private static OrderRequestDTO order(Long customerId) {
+        OrderItemRequestDTO item = new OrderItemRequestDTO();
+        item.setProductId(1L);
+        item.setQuantity(1);
+        OrderRequestDTO dto = new OrderRequestDTO();
+        dto.setCustomerId(customerId);
+        dto.setOrderItems(List.of(item));
+        return dto;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.ecommerce.orders.services;
+
+import com.project.ecommerce.orders.exceptionhandling.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCursorTest {
+
+    @Test
+    void testEncodePosition_roundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2001, 1, 1, 5, 30, 15, 123_000_000);
+
+        OrderCursor.Position position = OrderCursor.decodePosition(OrderCursor.encode(createdAt, 42L));
+
+        assertEquals(createdAt, position.createdAt());
+        assertEquals(42L, position.id());
+    }
+
+    @Test
+    void testEncodePosition_rejectsMissingCreatedAt() {
+        // A cursor of "null|42" could never be decoded again
+        assertThrows(NullPointerException.class, () -> OrderCursor.encode(null, 42L));
+        String nullCursor = Base64.getUrlEncoder().withoutPadding().encodeToString("null|42".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decodePosition(nullCursor));
+    }
+}
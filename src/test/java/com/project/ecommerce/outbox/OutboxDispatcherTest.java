@@ -0,0 +1,222 @@
+package com.project.ecommerce.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private final Map<OutboxHandledEvent.Key, OutboxHandledEvent> handled = new HashMap<>();
+    private final Map<Long, OutboxEvent> events = new HashMap<>();
+    private final List<OutboxEventHandler> handlers = new ArrayList<>();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        when(outboxEventRepository.findById(any())).thenAnswer(inv -> Optional.ofNullable(events.get(inv.<Long>getArgument(0))));
+
+        // Handled events live in a map so they survive across chunks like the table does
+        OutboxHandledEventRepository handledRepository = mock(OutboxHandledEventRepository.class);
+        when(handledRepository.findByEventIdIn(any())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return handled.values().stream().filter(row -> ids.contains(row.getEventId())).toList();
+        });
+        when(handledRepository.save(any())).thenAnswer(inv -> {
+            OutboxHandledEvent row = inv.getArgument(0);
+            handled.put(row.getId(), row);
+            return row;
+        });
+        when(handledRepository.saveAll(any())).thenAnswer(inv -> {
+            List<OutboxHandledEvent> rows = inv.getArgument(0);
+            rows.forEach(row -> handled.put(row.getId(), row));
+            return rows;
+        });
+
+        ObjectProvider<OutboxEventHandler> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(inv -> handlers.stream());
+
+        dispatcher = new OutboxDispatcher(outboxEventRepository, handledRepository, provider,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(dispatcher, "chunkSize", 500);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 2);
+    }
+
+    @Test
+    void testDispatchChunk_failingHandlerIsRetriedAlone() {
+        List<OutboxEvent> chunk = queue(1L, 2L, 3L);
+        RecordingHandler healthy = handler("Healthy", -1L);
+        RecordingHandler failing = handler("Failing", 2L);
+
+        assertEquals(3, dispatcher.dispatchChunk());
+
+        // The healthy handler saw the chunk once, the failing one retried event by event and skipped event 2 at once
+        assertEquals(List.of(List.of(1L, 2L, 3L)), healthy.calls);
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(1L), List.of(2L), List.of(3L)), failing.calls);
+        assertEquals(List.of(List.of(1L), List.of(3L)), failing.handled);
+        assertEquals("Failing: cannot handle 2", events.get(2L).getError());
+        assertNull(events.get(1L).getError());
+        assertEquals(Set.of(1L, 2L, 3L), handledBy("Healthy"));
+        assertEquals(Set.of(1L, 2L, 3L), handledBy("Failing"));
+        verify(outboxEventRepository).markProcessed(eq(ids(chunk)), any());
+    }
+
+    @Test
+    void testDispatchChunk_handlerSkipsEventsItHandled() {
+        List<OutboxEvent> chunk = queue(1L, 2L, 3L);
+        RecordingHandler caughtUp = handler("CaughtUp", -1L);
+        RecordingHandler behind = handler("Behind", -1L);
+        // CaughtUp committed events 1 and 3 before the chunk could be marked processed
+        markHandled("CaughtUp", 1L, 3L);
+
+        dispatcher.dispatchChunk();
+
+        assertEquals(List.of(List.of(2L)), caughtUp.calls);
+        assertEquals(List.of(List.of(1L, 2L, 3L)), behind.calls);
+        verify(outboxEventRepository).markProcessed(eq(ids(chunk)), any());
+    }
+
+    @Test
+    void testDispatchChunk_handlerThatHandledTheWholeChunkIsNotCalled() {
+        queue(1L, 2L);
+        RecordingHandler done = handler("Done", -1L);
+        markHandled("Done", 1L, 2L);
+
+        dispatcher.dispatchChunk();
+
+        assertTrue(done.calls.isEmpty());
+    }
+
+    @Test
+    void testDispatchChunk_lowerIdCommittedLaterIsStillDispatched() {
+        RecordingHandler handler = handler("Handler", -1L);
+        // Event 11 commits and is dispatched while the transaction holding event 10 is still open
+        queue(11L);
+        dispatcher.dispatchChunk();
+        queue(10L);
+        dispatcher.dispatchChunk();
+
+        assertEquals(List.of(List.of(11L), List.of(10L)), handler.calls);
+        assertEquals(Set.of(10L, 11L), handledBy("Handler"));
+        verify(outboxEventRepository).markProcessed(eq(List.of(10L)), any());
+    }
+
+    @Test
+    void testDispatchChunk_transientFailureIsRetriedOnLaterPolls() {
+        queue(1L, 2L, 3L);
+        RecordingHandler healthy = handler("Healthy", -1L);
+        RecordingHandler conflicting = handler("Conflicting", 2L, true);
+
+        // Event 2 stays unprocessed and keeps its attempt, without an error
+        assertEquals(2, dispatcher.dispatchChunk());
+        verify(outboxEventRepository).markProcessed(eq(List.of(1L, 3L)), any());
+        OutboxHandledEvent attempt = handled.get(new OutboxHandledEvent.Key(2L, "Conflicting"));
+        assertEquals(1, attempt.getAttempts());
+        assertNull(attempt.getCompletedAt());
+        assertNull(events.get(2L).getError());
+
+        // The next poll hands event 2 to the conflicting handler only, which gives up on its last attempt
+        queue(2L);
+        assertEquals(1, dispatcher.dispatchChunk());
+        assertEquals(List.of(List.of(1L, 2L, 3L)), healthy.calls);
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(1L), List.of(2L), List.of(3L), List.of(2L), List.of(2L)),
+                conflicting.calls);
+        assertEquals(2, attempt.getAttempts());
+        assertNotNull(attempt.getCompletedAt());
+        assertEquals("Conflicting: conflict on 2", events.get(2L).getError());
+        verify(outboxEventRepository).markProcessed(eq(List.of(2L)), any());
+    }
+
+    private List<OutboxEvent> queue(Long... ids) {
+        List<OutboxEvent> chunk = new ArrayList<>();
+        for (Long id : ids) {
+            OutboxEvent event = OutboxEvent.builder().id(id).orderId(id).type(OutboxEventType.ORDER_CREATED).build();
+            events.put(id, event);
+            chunk.add(event);
+        }
+        when(outboxEventRepository.findByProcessedAtIsNullOrderById(any(Limit.class))).thenReturn(chunk);
+        return chunk;
+    }
+
+    private RecordingHandler handler(String name, long failOn) {
+        return handler(name, failOn, false);
+    }
+
+    private RecordingHandler handler(String name, long failOn, boolean transientFailure) {
+        RecordingHandler handler = new RecordingHandler(name, failOn, transientFailure);
+        handlers.add(handler);
+        return handler;
+    }
+
+    private void markHandled(String handler, Long... eventIds) {
+        for (Long eventId : eventIds) {
+            OutboxHandledEvent row = new OutboxHandledEvent(eventId, handler);
+            row.setCompletedAt(LocalDateTime.now());
+            handled.put(row.getId(), row);
+        }
+    }
+
+    private Set<Long> handledBy(String handler) {
+        return handled.values().stream()
+                .filter(row -> row.getHandler().equals(handler))
+                .map(OutboxHandledEvent::getEventId)
+                .collect(Collectors.toSet());
+    }
+
+    private static List<Long> ids(List<OutboxEvent> chunk) {
+        return chunk.stream().map(OutboxEvent::getId).toList();
+    }
+
+    // Fails every call that contains the given event id, remembers calls and the ones that went through
+    private static class RecordingHandler implements OutboxEventHandler {
+        private final String name;
+        private final long failOn;
+        private final boolean transientFailure;
+        private final List<List<Long>> calls = new ArrayList<>();
+        private final List<List<Long>> handled = new ArrayList<>();
+
+        RecordingHandler(String name, long failOn, boolean transientFailure) {
+            this.name = name;
+            this.failOn = failOn;
+            this.transientFailure = transientFailure;
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> events) {
+            List<Long> ids = ids(events);
+            calls.add(ids);
+            if (ids.contains(failOn)) {
+                throw transientFailure
+                        ? new OptimisticLockingFailureException("conflict on " + failOn)
+                        : new IllegalStateException("cannot handle " + failOn);
+            }
+            handled.add(ids);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+}
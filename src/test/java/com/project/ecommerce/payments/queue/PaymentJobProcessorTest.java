@@ -0,0 +1,101 @@
+package com.project.ecommerce.payments.queue;
+
+import com.project.ecommerce.orders.cache.OrderReadCache;
+import com.project.ecommerce.orders.exceptionhandling.ResourceNotFoundException;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.outbox.OutboxService;
+import com.project.ecommerce.payments.constants.PaymentJobStatus;
+import com.project.ecommerce.payments.entity.PaymentJob;
+import com.project.ecommerce.payments.repository.PaymentJobRepository;
+import com.project.ecommerce.payments.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentJobProcessorTest {
+
+    private static final long ORDER_ID = 7L;
+
+    private PaymentJobRepository paymentJobRepository;
+    private OrderService orderService;
+    private PaymentJobProcessor processor;
+
+    @BeforeEach
+    void setup() {
+        paymentJobRepository = mock(PaymentJobRepository.class);
+        orderService = mock(OrderService.class);
+        processor = new PaymentJobProcessor(paymentJobRepository, mock(PaymentRepository.class), orderService,
+                mock(OrderReadCache.class), mock(OutboxService.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(processor, "maxAttempts", 3);
+    }
+
+    @Test
+    void testProcessOrder_missingOrderFailsJobAtOnce() {
+        PaymentJob job = queue(1L);
+        when(orderService.getOrderEntityById(ORDER_ID))
+                .thenThrow(new ResourceNotFoundException("Order not found with ID: " + ORDER_ID));
+
+        processor.processOrder(ORDER_ID);
+
+        assertEquals(PaymentJobStatus.FAILED, job.getStatus());
+        assertEquals("Order not found with ID: " + ORDER_ID, job.getMessage());
+        assertNotNull(job.getCompletedAt());
+    }
+
+    @Test
+    void testProcessOrder_persistentLockConflictFailsJobAfterMaxAttempts() {
+        PaymentJob job = queue(1L);
+        when(orderService.getOrderEntityById(ORDER_ID)).thenThrow(new OptimisticLockingFailureException("conflict"));
+
+        processor.processOrder(ORDER_ID);
+        processor.processOrder(ORDER_ID);
+        assertEquals(PaymentJobStatus.QUEUED, job.getStatus());
+        assertEquals(2, job.getAttempts());
+
+        processor.processOrder(ORDER_ID);
+        assertEquals(PaymentJobStatus.FAILED, job.getStatus());
+        assertEquals(3, job.getAttempts());
+        assertNotNull(job.getCompletedAt());
+    }
+
+    @Test
+    void testProcessOrder_unexpectedErrorBlocksLaterJobsUntilJobFails() {
+        PaymentJob first = queue(1L);
+        PaymentJob second = queue(2L);
+        when(paymentJobRepository.findIdsByOrderIdAndStatus(ORDER_ID, PaymentJobStatus.QUEUED))
+                .thenReturn(List.of(1L, 2L));
+        when(orderService.getOrderEntityById(ORDER_ID)).thenThrow(new IllegalStateException("boom"));
+
+        // Only the first job is attempted while it is still retried, the sweep does not see an exception
+        assertDoesNotThrow(() -> processor.processOrder(ORDER_ID));
+        assertDoesNotThrow(() -> processor.processOrder(ORDER_ID));
+        assertEquals(2, first.getAttempts());
+        assertEquals(0, second.getAttempts());
+
+        // Once the first job failed the second one gets its turn
+        processor.processOrder(ORDER_ID);
+        assertEquals(PaymentJobStatus.FAILED, first.getStatus());
+        assertEquals(1, second.getAttempts());
+        assertEquals(PaymentJobStatus.QUEUED, second.getStatus());
+    }
+
+    private PaymentJob queue(Long id) {
+        PaymentJob job = new PaymentJob();
+        job.setId(id);
+        job.setOrderId(ORDER_ID);
+        job.setPaymentType("CARD");
+        job.setAmount(10.0);
+        job.setStatus(PaymentJobStatus.QUEUED);
+        when(paymentJobRepository.findById(id)).thenReturn(Optional.of(job));
+        when(paymentJobRepository.findIdsByOrderIdAndStatus(ORDER_ID, PaymentJobStatus.QUEUED)).thenReturn(List.of(id));
+        return job;
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.ecommerce.products.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvChannelReaderTest {
+
+    @Test
+    void testNext_quotedFieldsAcrossBufferBoundaries() throws Exception {
+        // A 3 byte buffer splits quotes, escaped quotes and CRLF pairs between reads
+        CsvChannelReader reader = reader("id,name,price\r\n1,\"Mouse, \"\"Pro\"\"\",30\r\n2,\"Two\nlines\",5\n,Caf\u00e9,7", 3);
+        List<String> fields = new ArrayList<>();
+
+        assertTrue(reader.next(fields));
+        assertEquals(List.of("id", "name", "price"), fields);
+
+        assertTrue(reader.next(fields));
+        assertEquals(List.of("1", "Mouse, \"Pro\"", "30"), fields);
+        assertEquals(2, reader.recordLine());
+
+        assertTrue(reader.next(fields));
+        assertEquals(List.of("2", "Two\nlines", "5"), fields);
+        assertEquals(3, reader.recordLine());
+
+        assertTrue(reader.next(fields));
+        assertEquals(List.of("", "Caf\u00e9", "7"), fields);
+        assertEquals(5, reader.recordLine());
+        assertNull(reader.recordError());
+
+        assertFalse(reader.next(fields));
+    }
+
+    @Test
+    void testNext_unclosedQuoteIsReported() throws Exception {
+        CsvChannelReader reader = reader("1,\"Mouse,30\n2,Pad,10\n", 16);
+        List<String> fields = new ArrayList<>();
+
+        assertTrue(reader.next(fields));
+        assertNotNull(reader.recordError());
+        assertFalse(reader.next(fields));
+    }
+
+    @Test
+    void testNext_longFieldIsCut() throws Exception {
+        String name = "x".repeat(CsvChannelReader.MAX_FIELD_LENGTH + 10);
+        CsvChannelReader reader = reader("1," + name + ",30\n2,Pad,10\n", 1024);
+        List<String> fields = new ArrayList<>();
+
+        assertTrue(reader.next(fields));
+        assertEquals(CsvChannelReader.MAX_FIELD_LENGTH, fields.get(1).length());
+        assertNotNull(reader.recordError());
+
+        assertTrue(reader.next(fields));
+        assertEquals(List.of("2", "Pad", "10"), fields);
+        assertNull(reader.recordError());
+    }
+
+    private CsvChannelReader reader(String csv, int bufferSize) {
+        return new CsvChannelReader(Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))), bufferSize);
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.ecommerce.products.importer;
+
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.products.dto.ProductImportReportDTO;
+import com.project.ecommerce.products.entities.Product;
+import com.project.ecommerce.products.inventory.InventoryService;
+import com.project.ecommerce.products.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testImportCsv_negativeDeltaCannotTakeStockBelowReservations() throws Exception {
+        Product reserved = productRepository.save(Product.builder().name("Reserved").price(10.0).availableQuantity(5).build());
+        Product free = productRepository.save(Product.builder().name("Free").price(10.0).availableQuantity(5).build());
+        // 2 of the 5 reserved units are held by an order the inventory flush has not written back yet
+        savePendingOrder(reserved, 2);
+
+        ProductImportReportDTO report = importCsv("id,name,price,stock_delta\n"
+                + reserved.getId() + ",Reserved,12,-4\n"
+                + free.getId() + ",Free,12,-5\n");
+
+        assertEquals(2, report.getRows());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getErrors().getFirst().getLine());
+        // Stock less reservations is unchanged whether or not the inventory flush ran in between
+        assertEquals(3, ((Number) productRepository.findReservableStock(List.of(reserved.getId())).getFirst()[1]).intValue());
+        assertEquals(10.0, productRepository.findById(reserved.getId()).orElseThrow().getPrice());
+        assertEquals(0, productRepository.findById(free.getId()).orElseThrow().getAvailableQuantity());
+    }
+
+    @Test
+    void testImportCsv_appliesDeltasToLiveCounters() throws Exception {
+        Product product = productRepository.save(Product.builder().name("Counted").price(10.0).availableQuantity(5).build());
+        // 4 units are reserved in memory by an order that has not reached the database yet
+        inventoryService.reserve(Map.of(product.getId(), 4), Map.of());
+
+        ProductImportReportDTO report = importCsv("id,name,price,stock_delta\n"
+                + product.getId() + ",Counted,10,-2\n"
+                + product.getId() + ",Counted,10,3\n"
+                + product.getId() + ",Counted,10,-2\n");
+
+        // The increase covers the first decrease and half of the second, the rest is the single free unit
+        assertEquals(3, report.getImported());
+        assertEquals(0, inventoryService.available(product.getId()));
+        assertEquals(4, productRepository.findById(product.getId()).orElseThrow().getAvailableQuantity());
+
+        report = importCsv("id,name,price,stock_delta\n" + product.getId() + ",Counted,10,-1\n");
+
+        // The reserved units are not given away, neither in memory nor in the database
+        assertEquals(1, report.getFailed());
+        assertEquals(0, inventoryService.available(product.getId()));
+        assertEquals(4, productRepository.findById(product.getId()).orElseThrow().getAvailableQuantity());
+    }
+
+    @Test
+    void testImportCsv_createsProductWithGivenIdOnce() throws Exception {
+        long productId = 900_000L;
+
+        ProductImportReportDTO report = importCsv("id,name,price,stock_delta\n"
+                + productId + ",Created,10,2\n"
+                + productId + ",Created again,11,3\n");
+
+        assertEquals(2, report.getImported());
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals("Created again", product.getName());
+        assertEquals(5, product.getAvailableQuantity());
+    }
+
+    private ProductImportReportDTO importCsv(String csv) throws Exception {
+        return productImportService.importCsv(Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private void savePendingOrder(Product product, int quantity) {
+        Order order = Order.builder()
+                .createdAt(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .billingAmount(quantity * product.getPrice())
+                .stockPending(true)
+                .customer(customerRepository.findAll().get(0))
+                .build();
+        order.setOrderItems(List.of(OrderItem.builder().order(order).product(product).quantity(quantity)
+                .net_price(quantity * product.getPrice()).build()));
+        orderRepository.save(order);
+    }
+}
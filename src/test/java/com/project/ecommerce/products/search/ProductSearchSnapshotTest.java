@@ -0,0 +1,85 @@
+package com.project.ecommerce.products.search;
+
+import com.project.ecommerce.products.dto.ProductSearchRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchSnapshotTest {
+
+    private final ProductSearchSnapshot snapshot = new ProductSearchSnapshot.Builder()
+            .add(new ProductSearchRow(1L, "Wireless Mouse", 30.0, 5))
+            .add(new ProductSearchRow(2L, "Wired Mouse", 15.0, 50))
+            .add(new ProductSearchRow(3L, "Mouse Pad", 10.0, 20))
+            .add(new ProductSearchRow(4L, "Monitor 27\"", 300.0, 8))
+            .add(new ProductSearchRow(5L, "Wireless Keyboard", 60.0, 12))
+            .build();
+
+    @Test
+    void testSearch_prefixRankedByStock() {
+        assertEquals(List.of(2L, 3L, 1L), ids(snapshot.search(ProductSearchSnapshot.tokenize("mou"), ProductSearchScore.STOCK, 10, id -> false)));
+    }
+
+    @Test
+    void testSearch_prefixRankedByPriceWithLimit() {
+        assertEquals(List.of(4L, 1L), ids(snapshot.search(ProductSearchSnapshot.tokenize("mo"), ProductSearchScore.PRICE, 2, id -> false)));
+    }
+
+    @Test
+    void testSearch_everyWordMustMatch() {
+        assertEquals(List.of(2L, 1L), ids(snapshot.search(ProductSearchSnapshot.tokenize("wi MOU"), ProductSearchScore.STOCK, 10, id -> false)));
+        assertEquals(List.of(1L), ids(snapshot.search(ProductSearchSnapshot.tokenize("wirel MOU"), ProductSearchScore.STOCK, 10, id -> false)));
+        assertEquals(List.of(5L, 1L), ids(snapshot.search(ProductSearchSnapshot.tokenize("wireless"), ProductSearchScore.STOCK, 10, id -> false)));
+        assertTrue(snapshot.search(ProductSearchSnapshot.tokenize("keyboard pad"), ProductSearchScore.STOCK, 10, id -> false).isEmpty());
+    }
+
+    @Test
+    void testSearch_skippedProductsAreLeftOut() {
+        assertEquals(List.of(3L, 1L), ids(snapshot.search(ProductSearchSnapshot.tokenize("mouse"), ProductSearchScore.STOCK, 10, id -> id == 2L)));
+    }
+
+    @Test
+    void testSearch_shortPrefixesOverManyTermsMatchFullScan() {
+        // Thousands of distinct terms share every one-letter prefix, the lazy merge must still return the exact top k
+        Random random = new Random(42);
+        List<ProductSearchRow> rows = new ArrayList<>();
+        ProductSearchSnapshot.Builder builder = new ProductSearchSnapshot.Builder();
+        for (long id = 1; id <= 5_000; id++) {
+            String name = word(random) + " " + word(random) + " " + word(random);
+            ProductSearchRow row = new ProductSearchRow(id, name, (double) random.nextInt(1_000), random.nextInt(100));
+            rows.add(row);
+            builder.add(row);
+        }
+        ProductSearchSnapshot large = builder.build();
+
+        for (String query : List.of("a", "b", "ca", "d e", "qz", "m mo")) {
+            List<String> tokens = ProductSearchSnapshot.tokenize(query);
+            for (ProductSearchScore score : ProductSearchScore.values()) {
+                List<Long> expected = rows.stream()
+                        .filter(row -> ProductSearchSnapshot.matches(ProductSearchSnapshot.tokenize(row.getName()), tokens))
+                        .sorted(score.comparator())
+                        .limit(20)
+                        .map(ProductSearchRow::getId)
+                        .toList();
+                assertEquals(expected, ids(large.search(tokens, score, 20, id -> false)), query + " by " + score);
+            }
+        }
+    }
+
+    private String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 2 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private List<Long> ids(List<ProductSearchRow> rows) {
+        return rows.stream().map(ProductSearchRow::getId).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.ecommerce.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderExportFormat;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.dto.OrderExportCriteria;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.orders.exceptionhandling.ExportLimitExceededException;
+import com.project.ecommerce.orders.exceptionhandling.InvalidSearchCriteriaException;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.services.OrderExportService;
+import com.project.ecommerce.products.entities.Product;
+import com.project.ecommerce.products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class OrderExportTest {
+
+    private static final int ORDER_COUNT = 10;
+    private static final LocalDateTime START = LocalDateTime.of(2002, 1, 1, 0, 0);
+
+    private static List<Order> orders;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void seedOrders(@Autowired OrderRepository orderRepository, @Autowired CustomerRepository customerRepository,
+                           @Autowired ProductRepository productRepository) {
+        Customer customer = customerRepository.save(Customer.builder().name("Export").build());
+        Product cable = productRepository.save(Product.builder().name("Cable, 2m \"braided\"").price(5.0).availableQuantity(100).build());
+        Product plug = productRepository.save(Product.builder().name("Plug").price(2.5).availableQuantity(100).build());
+
+        // Saved newest first, the export has to come out in creation order regardless of ids
+        List<Order> seeded = new ArrayList<>();
+        for (int i = ORDER_COUNT - 1; i >= 0; i--) {
+            Order order = Order.builder()
+                    .createdAt(START.plusHours(i))
+                    .status(i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED)
+                    .billingAmount(12.5)
+                    .customer(customer)
+                    .build();
+            order.setOrderItems(List.of(
+                    OrderItem.builder().order(order).product(cable).quantity(2).net_price(10.0).build(),
+                    OrderItem.builder().order(order).product(plug).quantity(1).net_price(2.5).build()));
+            seeded.add(order);
+        }
+        orders = orderRepository.saveAll(seeded);
+    }
+
+    @Test
+    void testExportOrders_csvHasOneLinePerItem() throws Exception {
+        OrderExportCriteria criteria = criteria(OrderStatus.SHIPPED);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(criteria, OrderExportFormat.CSV, false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertTrue(lines.getFirst().startsWith("order_id,created_at,status,"));
+        // 5 shipped orders with 2 items each
+        assertEquals(1 + ORDER_COUNT, lines.size());
+        assertTrue(lines.get(1).startsWith(idCreatedAt(1) + ",SHIPPED,"));
+        assertTrue(lines.stream().anyMatch(line -> line.endsWith(",\"Cable, 2m \"\"braided\"\"\",2,10.0")));
+        assertTrue(lines.get(lines.size() - 1).startsWith(idCreatedAt(ORDER_COUNT - 1) + ",SHIPPED,"));
+    }
+
+    @Test
+    void testExportOrders_gzipNdjsonHasOneLinePerOrder() throws Exception {
+        OrderExportCriteria criteria = criteria(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(criteria, OrderExportFormat.NDJSON, true, out);
+
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(ORDER_COUNT, lines.size());
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            JsonNode order = objectMapper.readTree(lines.get(i));
+            assertEquals(orderAt(i).getId(), order.get("orderId").asLong());
+            assertEquals(2, order.get("items").size());
+        }
+    }
+
+    @Test
+    void testValidate_rejectsEmptyRange() {
+        OrderExportCriteria criteria = new OrderExportCriteria();
+        criteria.setCreatedFrom(START);
+        criteria.setCreatedTo(START);
+        assertThrows(InvalidSearchCriteriaException.class, () -> orderExportService.validate(criteria));
+    }
+
+    @Test
+    void testAcquireSlot_rejectsExportsOverTheCap() {
+        // orders.export.max-concurrent is 2 in the h2 profile
+        orderExportService.acquireSlot();
+        orderExportService.acquireSlot();
+        try {
+            assertThrows(ExportLimitExceededException.class, () -> orderExportService.acquireSlot());
+        } finally {
+            orderExportService.releaseSlot();
+            orderExportService.releaseSlot();
+        }
+        orderExportService.acquireSlot();
+        orderExportService.releaseSlot();
+    }
+
+    private OrderExportCriteria criteria(OrderStatus status) {
+        OrderExportCriteria criteria = new OrderExportCriteria();
+        criteria.setStatus(status);
+        criteria.setCreatedFrom(START);
+        criteria.setCreatedTo(START.plusHours(ORDER_COUNT));
+        return criteria;
+    }
+
+    private Order orderAt(int hour) {
+        return orders.stream().filter(order -> order.getCreatedAt().equals(START.plusHours(hour))).findFirst().orElseThrow();
+    }
+
+    private String idCreatedAt(int hour) {
+        Order order = orderAt(hour);
+        return order.getId() + "," + order.getCreatedAt();
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.ecommerce.services;
+
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.dto.OrderItemRequestDTO;
+import com.project.ecommerce.orders.dto.OrderItemResponseDTO;
+import com.project.ecommerce.orders.dto.OrderPageDTO;
+import com.project.ecommerce.orders.dto.OrderRequestDTO;
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.products.entities.Product;
+import com.project.ecommerce.products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class OrderQueryCountTest {
+
+    private static final int ORDER_COUNT = 1000;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void seedOrders() {
+        if (orderRepository.count() >= ORDER_COUNT) {
+            return;
+        }
+        List<Customer> customers = customerRepository.findAll();
+        List<Product> products = productRepository.findAll();
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = Order.builder()
+                    .createdAt(LocalDateTime.now())
+                    .status(OrderStatus.PENDING)
+                    .customer(customers.get(i % customers.size()))
+                    .build();
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                Product product = products.get((i + j) % products.size());
+                items.add(OrderItem.builder().order(order).product(product).quantity(1).net_price(product.getPrice()).build());
+            }
+            order.setOrderItems(items);
+            order.setBillingAmount(items.stream().mapToDouble(OrderItem::getNet_price).sum());
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @Test
+    void testGetOrders_pageOfThousandOrdersUsesTwoStatements() {
+        SqlStatementCounter.reset();
+
+        OrderPageDTO page = orderService.getOrders(null, null, ORDER_COUNT);
+
+        assertEquals(ORDER_COUNT, page.getItems().size());
+        assertTrue(page.getItems().stream()
+                .allMatch(o -> o.getCustomerName() != null && o.getOrderItems().size() == ITEMS_PER_ORDER));
+        // one statement for the page of ids, one for orders with customers, items and products
+        assertEquals(2, SqlStatementCounter.count());
+    }
+
+    @Test
+    void testCreateOrder_readsOnlyTheCustomer() {
+        List<Product> products = new ArrayList<>();
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            Product product = productRepository.save(Product.builder().name("Counted " + i).price(10.0 + i).availableQuantity(100).build());
+            products.add(product);
+            OrderItemRequestDTO item = new OrderItemRequestDTO();
+            item.setProductId(product.getId());
+            item.setQuantity(2);
+            items.add(item);
+        }
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setCustomerId(customerRepository.findAll().get(0).getId());
+        request.setOrderItems(items);
+        // The first order loads the products into the catalog cache and the inventory counters
+        orderService.createOrder(request);
+        SqlStatementCounter.reset();
+
+        OrderResponseDTO response = orderService.createOrder(request);
+
+        assertEquals(products.stream().map(Product::getName).toList(),
+                response.getOrderItems().stream().map(OrderItemResponseDTO::getProductName).toList());
+        assertEquals(11.0, response.getOrderItems().get(1).getPrice());
+        // Names and prices of the items come from the catalog cache, the only read is the customer
+        List<String> reads = SqlStatementCounter.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("select") && !sql.contains("next value for"))
+                .toList();
+        assertEquals(1, reads.size(), reads::toString);
+        assertTrue(reads.getFirst().contains("customers"), reads::toString);
+    }
+}
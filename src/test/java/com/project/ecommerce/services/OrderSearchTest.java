@@ -0,0 +1,197 @@
+package com.project.ecommerce.services;
+
+import com.project.ecommerce.customers.entities.Customer;
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.dto.CustomerOrderPageDTO;
+import com.project.ecommerce.orders.dto.OrderPageDTO;
+import com.project.ecommerce.orders.dto.OrderResponseDTO;
+import com.project.ecommerce.orders.dto.OrderSearchCriteria;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.entities.OrderItem;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.payments.repository.PaymentRepository;
+import com.project.ecommerce.products.entities.Product;
+import com.project.ecommerce.products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class OrderSearchTest {
+
+    private static final int ORDER_COUNT = 40;
+    private static final int PAGE_SIZE = 10;
+    private static final LocalDateTime START = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+    private static Customer customer;
+    private static List<Order> orders;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void seedOrders(@Autowired OrderRepository orderRepository, @Autowired CustomerRepository customerRepository,
+                           @Autowired ProductRepository productRepository, @Autowired JdbcTemplate jdbcTemplate) {
+        customer = customerRepository.save(Customer.builder().name("Search").build());
+        Product product = productRepository.save(Product.builder().name("Search item").price(10.0).availableQuantity(100).build());
+        List<Order> seeded = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = Order.builder()
+                    .createdAt(START.plusHours(i))
+                    .status(i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED)
+                    .billingAmount(i * 10.0)
+                    .customer(customer)
+                    .build();
+            // Zero to three items, so the item count of the history rows is checked per order
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < i % 4; j++) {
+                items.add(OrderItem.builder().order(order).product(product).quantity(1).net_price(10.0).build());
+            }
+            order.setOrderItems(items);
+            seeded.add(order);
+        }
+        orders = orderRepository.saveAll(seeded);
+        // Refresh the optimizer statistics so the plans reflect the data
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testSearchOrders_combinesFiltersAcrossPages() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setCustomerId(customer.getId());
+        criteria.setStatus(OrderStatus.SHIPPED);
+        criteria.setCreatedFrom(START.plusHours(5));
+        criteria.setCreatedTo(START.plusHours(35));
+        criteria.setMinAmount(100.0);
+        criteria.setMaxAmount(300.0);
+
+        List<Long> expected = orders.stream()
+                .filter(order -> order.getStatus() == OrderStatus.SHIPPED)
+                .filter(order -> !order.getCreatedAt().isBefore(START.plusHours(5)) && order.getCreatedAt().isBefore(START.plusHours(35)))
+                .filter(order -> order.getBillingAmount() >= 100.0 && order.getBillingAmount() <= 300.0)
+                .map(Order::getId)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        // Walk every page with a small page size
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageDTO page = orderService.searchOrders(criteria, cursor, 3);
+            page.getItems().stream().map(OrderResponseDTO::getOrderId).forEach(found::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void testGetCustomerOrders_pagesNewestFirst() {
+        List<Long> expected = orders.stream()
+                .sorted(Comparator.comparing(Order::getCreatedAt).reversed())
+                .map(Order::getId)
+                .toList();
+        Map<Long, Long> itemCounts = orders.stream()
+                .collect(Collectors.toMap(Order::getId, order -> (long) order.getOrderItems().size()));
+
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            CustomerOrderPageDTO page = orderService.getCustomerOrders(customer.getId(), cursor, 7);
+            page.getItems().forEach(order -> {
+                assertEquals(itemCounts.get(order.getOrderId()), order.getItemCount());
+                found.add(order.getOrderId());
+            });
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void testSearchAccessPaths_useCompositeIndexes() {
+        OrderSearchCriteria byCustomer = new OrderSearchCriteria();
+        byCustomer.setCustomerId(customer.getId());
+        assertSearchUsesIndex(byCustomer, "IDX_ORDERS_CUSTOMER_ID_ID");
+
+        OrderSearchCriteria byStatus = new OrderSearchCriteria();
+        byStatus.setStatus(OrderStatus.SHIPPED);
+        assertSearchUsesIndex(byStatus, "IDX_ORDERS_STATUS_ID");
+
+        OrderSearchCriteria byCreatedAt = new OrderSearchCriteria();
+        byCreatedAt.setCreatedFrom(START.plusHours(5));
+        byCreatedAt.setCreatedTo(START.plusHours(6));
+        assertSearchUsesIndex(byCreatedAt, "IDX_ORDERS_CREATED_AT_ID");
+
+        LocalDateTime after = START.plusHours(5);
+        assertUsesIndex(() -> orderRepository.findCustomerOrdersAfter(customer.getId(), after, Long.MAX_VALUE, Limit.of(PAGE_SIZE)),
+                List.of(customer.getId(), after, after, Long.MAX_VALUE), "IDX_ORDERS_CUSTOMER_ID_CREATED_AT");
+
+        Long orderId = orders.getFirst().getId();
+        assertUsesIndex(() -> paymentRepository.findByOrder_Id(orderId), List.of(orderId), "IDX_PAYMENTS_ORDER_ID");
+    }
+
+    // Binds the criteria in the order searchIds adds its predicates
+    private void assertSearchUsesIndex(OrderSearchCriteria criteria, String index) {
+        List<Object> args = new ArrayList<>();
+        args.add(Long.MAX_VALUE);
+        if (criteria.getStatus() != null) {
+            args.add(criteria.getStatus().name());
+        }
+        if (criteria.getCustomerId() != null) {
+            args.add(criteria.getCustomerId());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            args.add(criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            args.add(criteria.getCreatedTo());
+        }
+        assertUsesIndex(() -> orderRepository.searchIds(criteria, Long.MAX_VALUE, PAGE_SIZE), args, index);
+    }
+
+    // Runs the query, captures the SQL Hibernate generated for it and explains that statement,
+    // parameters beyond the given arguments are the row limit
+    private void assertUsesIndex(Runnable query, List<Object> args, String index) {
+        SqlStatementCounter.reset();
+        query.run();
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(1, statements.size(), statements::toString);
+        String sql = statements.getFirst();
+
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] bound = IntStream.range(0, parameters)
+                .mapToObj(i -> i < args.size() ? args.get(i) : (Object) PAGE_SIZE)
+                .toArray();
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, bound);
+        assertNotNull(plan);
+        assertTrue(plan.toUpperCase().contains(index), () -> "Expected " + index + " in plan of\n" + sql + "\n" + plan);
+    }
+}
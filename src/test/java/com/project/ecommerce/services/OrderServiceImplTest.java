@@ -1,12 +1,17 @@
 package com.project.ecommerce.services;
 
+import com.project.ecommerce.orders.cache.OrderReadCache;
+import com.project.ecommerce.orders.dto.OrderPageDTO;
 import com.project.ecommerce.orders.dto.OrderResponseDTO;
 import com.project.ecommerce.orders.entities.Order;
 import com.project.ecommerce.orders.constants.OrderStatus;
 import com.project.ecommerce.orders.exceptionhandling.InvalidOrderStatusException;
+import com.project.ecommerce.orders.exceptionhandling.OrderStatusConflictException;
 import com.project.ecommerce.orders.mapper.OrderMapper;
 import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.services.OrderCursor;
 import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.outbox.OutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -17,12 +22,13 @@ import static org.mockito.Mockito.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 @SpringBootTest
 class OrderServiceImplTest {
@@ -36,6 +42,12 @@ class OrderServiceImplTest {
     @MockBean
     private OrderMapper orderMapper;
 
+    @MockBean
+    private OrderReadCache orderReadCache;
+
+    @MockBean
+    private OutboxService outboxService;
+
     private Order order;
     private OrderResponseDTO responseDto;
 
@@ -51,7 +63,7 @@ class OrderServiceImplTest {
 
     @Test
     void testGetOrderById_found() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderMapper.toDto(order)).thenReturn(responseDto);
 
         OrderResponseDTO result = orderService.getOrderById(1L);
@@ -60,9 +72,19 @@ class OrderServiceImplTest {
         assertEquals(1L, result.getOrderId());
     }
 
+    @Test
+    void testGetOrderById_servedFromCache() {
+        when(orderReadCache.get(1L)).thenReturn(responseDto);
+
+        OrderResponseDTO result = orderService.getOrderById(1L);
+
+        assertSame(responseDto, result);
+        verify(orderRepository, never()).findWithDetailsById(any());
+    }
+
     @Test
     void testGetOrderById_notFound() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(RuntimeException.class, () -> orderService.getOrderById(1L));
         assertTrue(ex.getMessage().contains("Order not found"));
@@ -70,41 +92,91 @@ class OrderServiceImplTest {
 
     @Test
     void testUpdateOrderStatus() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(orderRepository.save(any())).thenReturn(order);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.PROCESSING)).thenReturn(1);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
         when(orderMapper.toDto(order)).thenReturn(responseDto);
 
         OrderResponseDTO result = orderService.updateOrderStatus(1L, OrderStatus.PROCESSING);
 
         assertEquals(1L, result.getOrderId());
-        assertEquals(OrderStatus.PROCESSING, order.getStatus());
+        verify(outboxService).statusChanged(1L, OrderStatus.PENDING, OrderStatus.PROCESSING);
+        verify(orderReadCache).invalidateAfterCommit(1L);
+    }
+
+    @Test
+    void testUpdateOrderStatus_invalidTransition() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.CANCELLED));
+
+        assertThrows(InvalidOrderStatusException.class, () -> orderService.updateOrderStatus(1L, OrderStatus.PROCESSING));
+        verify(orderRepository, never()).compareAndSetStatus(any(), any(), any());
+    }
+
+    @Test
+    void testUpdateOrderStatus_retriesWhenStatusChangedConcurrently() {
+        // The first update loses the race, the second attempt re-reads the status and succeeds
+        when(orderRepository.findStatusById(1L))
+                .thenReturn(Optional.of(OrderStatus.PENDING))
+                .thenReturn(Optional.of(OrderStatus.PROCESSING));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.SHIPPED)).thenReturn(0);
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PROCESSING, OrderStatus.SHIPPED)).thenReturn(1);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
+        when(orderMapper.toDto(order)).thenReturn(responseDto);
+
+        orderService.updateOrderStatus(1L, OrderStatus.SHIPPED);
+
+        verify(orderRepository, times(2)).findStatusById(1L);
+        verify(outboxService).statusChanged(1L, OrderStatus.PROCESSING, OrderStatus.SHIPPED);
     }
 
     @Test
-    void testGetAllOrders_noStatus() {
-        when(orderRepository.findAll()).thenReturn(Collections.singletonList(order));
+    void testGetOrders_firstPageWithNextCursor() {
+        when(orderRepository.findPageIds(eq(Long.MAX_VALUE), any(Limit.class))).thenReturn(List.of(1L, 0L));
+        when(orderRepository.findWithDetailsByIdInOrderByIdDesc(List.of(1L))).thenReturn(List.of(order));
         when(orderMapper.toDto(order)).thenReturn(responseDto);
 
-        List<OrderResponseDTO> result = orderService.getAllOrders(null);
+        OrderPageDTO result = orderService.getOrders(null, null, 1);
 
-        assertEquals(1, result.size());
+        assertEquals(1, result.getItems().size());
+        assertEquals(1L, OrderCursor.decodeId(result.getNextCursor()));
     }
 
     @Test
     void testCancelOrder_valid() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.CANCELLED)).thenReturn(1);
 
         orderService.cancelOrder(1L);
 
-        verify(orderRepository).save(order);
-        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        verify(orderRepository).compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        verify(outboxService).statusChanged(1L, OrderStatus.PENDING, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void testCancelOrder_processingOrderNotShipped() {
+        // New orders leave PENDING within milliseconds, they can still be cancelled until they ship
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PROCESSING));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PROCESSING, OrderStatus.CANCELLED)).thenReturn(1);
+
+        orderService.cancelOrder(1L);
+
+        verify(outboxService).statusChanged(1L, OrderStatus.PROCESSING, OrderStatus.CANCELLED);
     }
 
     @Test
     void testCancelOrder_invalidStatus() {
-        order.setStatus(OrderStatus.SHIPPED);  // Example of non-cancellable status
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        // Example of non-cancellable status
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.SHIPPED));
 
         assertThrows(InvalidOrderStatusException.class, () -> orderService.cancelOrder(1L));
     }
+
+    @Test
+    void testCancelOrder_conflictAfterRetries() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.CANCELLED)).thenReturn(0);
+
+        assertThrows(OrderStatusConflictException.class, () -> orderService.cancelOrder(1L));
+        verify(orderRepository, times(3)).compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.CANCELLED);
+    }
 }
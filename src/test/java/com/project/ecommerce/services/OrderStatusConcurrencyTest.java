@@ -0,0 +1,135 @@
+package com.project.ecommerce.services;
+
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.exceptionhandling.InvalidOrderStatusException;
+import com.project.ecommerce.orders.exceptionhandling.OrderStatusConflictException;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.services.OrderService;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventRepository;
+import com.project.ecommerce.outbox.OutboxEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class OrderStatusConcurrencyTest {
+
+    private static final int CONTENDERS = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void testCancelRacingShipping_exactlyOneTransitionWins() throws Exception {
+        Order order = orderRepository.save(Order.builder()
+                .createdAt(LocalDateTime.now())
+                .status(OrderStatus.PROCESSING)
+                .customer(customerRepository.findAll().get(0))
+                .build());
+        Long id = order.getId();
+
+        // Half of the contenders cancel the order, the other half ship it
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger shipped = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONTENDERS)) {
+            for (int i = 0; i < CONTENDERS; i++) {
+                boolean cancel = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        if (cancel) {
+                            orderService.cancelOrder(id);
+                            cancelled.incrementAndGet();
+                        } else {
+                            orderService.updateOrderStatus(id, OrderStatus.SHIPPED);
+                            shipped.incrementAndGet();
+                        }
+                    } catch (InvalidOrderStatusException | OrderStatusConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Exactly one contender applied its transition and the stored status matches it
+        assertEquals(1, cancelled.get() + shipped.get());
+        assertEquals(CONTENDERS - 1, rejected.get());
+        OrderStatus expected = cancelled.get() == 1 ? OrderStatus.CANCELLED : OrderStatus.SHIPPED;
+        assertEquals(expected, orderRepository.findStatusById(id).orElseThrow());
+    }
+
+    @Test
+    void testBulkTransitionsRacing_moveAndRecordEachOrderOnce() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(orderRepository.save(Order.builder()
+                    .createdAt(LocalDateTime.now())
+                    .status(OrderStatus.PENDING)
+                    .customer(customerRepository.findAll().get(0))
+                    .build()).getId());
+        }
+
+        // Two bulk transitions over the same orders, e.g. the safety net and the outbox handler, listed in opposite order
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (List<Long> chunk : List.of(ids, ids.reversed())) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return orderService.transitionOrders(chunk, OrderStatus.PENDING, OrderStatus.PROCESSING);
+                }));
+            }
+            start.countDown();
+            int moved = 0;
+            for (Future<Integer> future : futures) {
+                moved += future.get();
+            }
+            assertEquals(ids.size(), moved);
+        }
+
+        // Every order moved once and has exactly one event for it
+        for (Long id : ids) {
+            assertEquals(OrderStatus.PROCESSING, orderRepository.findStatusById(id).orElseThrow());
+        }
+        Map<Long, Long> events = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getType() == OutboxEventType.ORDER_STATUS_CHANGED && ids.contains(event.getOrderId()))
+                .collect(Collectors.groupingBy(OutboxEvent::getOrderId, Collectors.counting()));
+        assertEquals(ids.size(), events.size());
+        assertTrue(events.values().stream().allMatch(count -> count == 1));
+    }
+}
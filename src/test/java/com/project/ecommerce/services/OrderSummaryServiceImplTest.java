@@ -0,0 +1,173 @@
+package com.project.ecommerce.services;
+
+import com.project.ecommerce.customers.repository.CustomerRepository;
+import com.project.ecommerce.orders.constants.OrderStatus;
+import com.project.ecommerce.orders.entities.Order;
+import com.project.ecommerce.orders.outbox.OrderSummaryHandler;
+import com.project.ecommerce.orders.repository.OrderRepository;
+import com.project.ecommerce.orders.services.OrderSummaryService;
+import com.project.ecommerce.orders.summary.OrderDailySummary;
+import com.project.ecommerce.orders.summary.OrderDailySummaryRepository;
+import com.project.ecommerce.outbox.OutboxDispatcher;
+import com.project.ecommerce.outbox.OutboxEvent;
+import com.project.ecommerce.outbox.OutboxEventRepository;
+import com.project.ecommerce.outbox.OutboxEventType;
+import com.project.ecommerce.outbox.OutboxHandledEvent;
+import com.project.ecommerce.outbox.OutboxHandledEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class OrderSummaryServiceImplTest {
+
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private OrderDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxHandledEventRepository outboxHandledEventRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Test
+    void testApply_foldsCreatesCancelsAndStatusChangesPerDay() {
+        // A day of its own, so the rollup rows of other tests do not mix in
+        LocalDateTime createdAt = LocalDateTime.of(2001, 3, 4, 10, 0);
+        Order processed = saveOrder(createdAt, 10.0);
+        Order cancelled = saveOrder(createdAt, 20.0);
+        Order pending = saveOrder(createdAt.plusHours(1), 30.0);
+
+        orderSummaryService.apply(List.of(created(processed), created(cancelled), created(pending),
+                statusChanged(processed, OrderStatus.PENDING, OrderStatus.PROCESSING)));
+        // A cancellation in a later chunk takes the order out of PENDING
+        orderSummaryService.apply(List.of(statusChanged(cancelled, OrderStatus.PENDING, OrderStatus.CANCELLED)));
+
+        Map<OrderStatus, OrderDailySummary> rows = rows(createdAt.toLocalDate());
+        assertRow(rows, OrderStatus.PENDING, 1, 30.0);
+        assertRow(rows, OrderStatus.PROCESSING, 1, 10.0);
+        assertRow(rows, OrderStatus.CANCELLED, 1, 20.0);
+        assertMatchesRecompute(createdAt.toLocalDate());
+    }
+
+    @Test
+    void testRebuild_marksThePendingEventsItCountsAsHandled() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2001, 5, 6, 10, 0);
+        // Keep the dispatcher from handing the pending event over while the test inspects it
+        outboxDispatcher.stop();
+        try {
+            Order order = saveOrder(createdAt, 40.0);
+            OutboxEvent pending = outboxEventRepository.save(OutboxEvent.builder()
+                    .orderId(order.getId())
+                    .type(OutboxEventType.ORDER_CREATED)
+                    .toStatus(OrderStatus.PENDING)
+                    .amount(order.getBillingAmount())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+
+            // The rebuild reads the order from the orders table, so the handler must not count its creation again
+            summaryRepository.deleteAll();
+            orderSummaryService.rebuildIfEmpty();
+            assertMatchesRecompute(createdAt.toLocalDate());
+            assertTrue(outboxHandledEventRepository.existsById(
+                    new OutboxHandledEvent.Key(pending.getId(), OrderSummaryHandler.NAME)));
+
+            // A status change written after the rebuild is still applied
+            orderSummaryService.apply(List.of(statusChanged(order, OrderStatus.PENDING, OrderStatus.SHIPPED)));
+            Map<OrderStatus, OrderDailySummary> rows = rows(createdAt.toLocalDate());
+            assertRow(rows, OrderStatus.PENDING, 0, 0.0);
+            assertRow(rows, OrderStatus.SHIPPED, 1, 40.0);
+            assertMatchesRecompute(createdAt.toLocalDate());
+        } finally {
+            outboxDispatcher.start();
+        }
+    }
+
+    private Order saveOrder(LocalDateTime createdAt, double amount) {
+        return orderRepository.save(Order.builder()
+                .createdAt(createdAt)
+                .status(OrderStatus.PENDING)
+                .billingAmount(amount)
+                .customer(customerRepository.findAll().get(0))
+                .build());
+    }
+
+    private OutboxEvent created(Order order) {
+        return saveEvent(order, OutboxEventType.ORDER_CREATED, null, OrderStatus.PENDING);
+    }
+
+    // Keeps the order row in step with the event, so the recompute sees the final status
+    private OutboxEvent statusChanged(Order order, OrderStatus from, OrderStatus to) {
+        Order current = orderRepository.findById(order.getId()).orElseThrow();
+        current.setStatus(to);
+        orderRepository.save(current);
+        return saveEvent(order, OutboxEventType.ORDER_STATUS_CHANGED, from, to);
+    }
+
+    // Saved as processed, so the outbox dispatcher leaves it to the test
+    private OutboxEvent saveEvent(Order order, OutboxEventType type, OrderStatus from, OrderStatus to) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .orderId(order.getId())
+                .type(type)
+                .fromStatus(from)
+                .toStatus(to)
+                .amount(order.getBillingAmount())
+                .createdAt(LocalDateTime.now())
+                .processedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private Map<OrderStatus, OrderDailySummary> rows(LocalDate day) {
+        Map<OrderStatus, OrderDailySummary> rows = new EnumMap<>(OrderStatus.class);
+        summaryRepository.findByDayIn(List.of(day)).forEach(row -> rows.put(row.getStatus(), row));
+        return rows;
+    }
+
+    private static void assertRow(Map<OrderStatus, OrderDailySummary> rows, OrderStatus status, long orderCount, double revenue) {
+        OrderDailySummary row = rows.get(status);
+        assertNotNull(row, "no row for " + status);
+        assertEquals(orderCount, row.getOrderCount(), status::toString);
+        assertEquals(revenue, row.getRevenue(), 1e-9, status::toString);
+    }
+
+    // The rollup of the day has to equal the orders of that day grouped by status, rows left at zero aside
+    private void assertMatchesRecompute(LocalDate day) {
+        Map<OrderStatus, long[]> counts = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, Double> revenue = new EnumMap<>(OrderStatus.class);
+        for (Order order : orderRepository.findAll()) {
+            if (order.getCreatedAt() != null && order.getCreatedAt().toLocalDate().equals(day)) {
+                counts.computeIfAbsent(order.getStatus(), status -> new long[1])[0]++;
+                revenue.merge(order.getStatus(), order.getBillingAmount(), Double::sum);
+            }
+        }
+        Map<OrderStatus, OrderDailySummary> rows = rows(day);
+        for (OrderStatus status : OrderStatus.values()) {
+            long expectedCount = counts.containsKey(status) ? counts.get(status)[0] : 0;
+            OrderDailySummary row = rows.get(status);
+            assertEquals(expectedCount, row != null ? row.getOrderCount() : 0, status::toString);
+            assertEquals(revenue.getOrDefault(status, 0.0), row != null ? row.getRevenue() : 0.0, 1e-9, status::toString);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.ecommerce.services;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts and records the SQL statements Hibernate prepares on the current thread, so background jobs do not skew
+ * the count. Registered through hibernate.session_factory.statement_inspector in the h2 test profile.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static int count() {
+        return STATEMENTS.get().size();
+    }
+
+    /**
+     * @return the statements prepared since the last reset, in order
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}